@@ -13,7 +13,11 @@ import javafx.scene.Scene;
 import tasks.*;
 import utilities.FreeTelemetrySupport;
 import utils.GuardTracker;
+import utils.InventoryDiff;
+import utils.RetreatTracer;
+import utils.TapTargets;
 import utils.Task;
+import utils.TickClock;
 import utils.XPTracking;
 
 import javax.imageio.ImageIO;
@@ -28,8 +32,6 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -100,11 +102,34 @@ public class TidalsCannonballThiever extends Script {
     public static Map<String, Integer> cannonballCounts = new LinkedHashMap<>();
     public static Map<String, Integer> oreCounts = new LinkedHashMap<>();
 
-    private Map<Integer, Integer> lastInventorySnapshot = new HashMap<>();
+    // loot ids in cannonball-then-ore order, built once from the type tables above
+    private static final String[] LOOT_NAMES = new String[CANNONBALL_TYPES.size() + ORE_TYPES.size()];
+    private static final boolean[] LOOT_IS_CANNONBALL = new boolean[LOOT_NAMES.length];
+    private static final InventoryDiff LOOT_DIFF;
+
+    static {
+        int[] ids = new int[LOOT_NAMES.length];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : CANNONBALL_TYPES.entrySet()) {
+            LOOT_NAMES[i] = entry.getKey();
+            LOOT_IS_CANNONBALL[i] = true;
+            ids[i++] = entry.getValue();
+        }
+        for (Map.Entry<String, Integer> entry : ORE_TYPES.entrySet()) {
+            LOOT_NAMES[i] = entry.getKey();
+            ids[i++] = entry.getValue();
+        }
+        LOOT_DIFF = new InventoryDiff(ids);
+    }
+
     private boolean inventoryInitialized = false;
 
     public static boolean currentlyThieving = false;
 
+    // fixed tiles shared by the tasks and the pre-projected tap targets
+    public static final WorldPosition SAFETY_TILE_SINGLE = new WorldPosition(1867, 3299, 0);
+    public static final WorldPosition THIEVING_TILE_TWO_STALL = new WorldPosition(1867, 3295, 0);
+
     public static String task = "Initializing...";
     public static long startTime = System.currentTimeMillis();
 
@@ -121,6 +146,9 @@ public class TidalsCannonballThiever extends Script {
     public static XPTracking xpTracking;
 
     public static GuardTracker guardTracker;
+    public static TickClock tickClock;
+    public static TapTargets tapTargets;
+    public static RetreatTracer retreatTracer;
     private ScriptUI scriptUI;
 
     public TidalsCannonballThiever(Object scriptCore) {
@@ -205,6 +233,9 @@ public class TidalsCannonballThiever extends Script {
         twoStallMode = scriptUI.isTwoStallMode();
         log("UI", "Mode selected: " + (twoStallMode ? "Two Stall" : "Single Stall"));
 
+        tickClock = new TickClock();
+        tapTargets = new TapTargets(this);
+        retreatTracer = new RetreatTracer();
         guardTracker = new GuardTracker(this);
         StartThieving.resetStaticState();
 
@@ -251,6 +282,11 @@ public class TidalsCannonballThiever extends Script {
 
             sendStats(xpIncrement, cannonballIncrement, oreIncrement, gpIncrement, runtimeIncrement);
 
+            // session retreat latency report (single-stall only)
+            if (!twoStallMode && retreatTracer != null && retreatTracer.getCount() > 0) {
+                log("RETREAT", retreatTracer.describeReport());
+            }
+
             // update last sent values
             lastSentXp = xpGained;
             lastSentCannonballs = cannonballsStolen;
@@ -275,10 +311,23 @@ public class TidalsCannonballThiever extends Script {
         if (pos == null)
             return;
 
+        // projection cache + pixel work counters are per frame
+        if (twoStallMode && guardTracker != null) {
+            guardTracker.onNewFrame();
+        }
+
+        // keep stall/safety tap polygons projected while the camera is still
+        if (setupDone && tapTargets != null) {
+            tapTargets.onNewFrame();
+        }
+
         // jail detection: if suddenly in jail while thieving, reset state
         if (setupDone && currentlyThieving) {
             if (isInJailCell(pos)) {
                 log("JAIL", "Detected teleport to jail! Resetting thieving state...");
+                if (twoStallMode && guardTracker != null) {
+                    guardTracker.getCyclePlanner().onJailed(System.currentTimeMillis());
+                }
                 currentlyThieving = false;
                 // EscapeJail task will now activate in next poll
                 return;
@@ -310,87 +359,47 @@ public class TidalsCannonballThiever extends Script {
         if (inventoryInitialized)
             return;
 
-        Set<Integer> allIds = getAllTrackedItemIds();
-        ItemGroupResult inv = getWidgetManager().getInventory().search(allIds);
+        ItemGroupResult inv = getWidgetManager().getInventory().search(LOOT_DIFF.getIdSet());
 
         if (inv != null) {
-            lastInventorySnapshot.clear();
-            for (int itemId : allIds) {
-                int count = inv.getAmount(itemId);
-                if (count > 0) {
-                    lastInventorySnapshot.put(itemId, count);
-                }
-            }
+            int present = LOOT_DIFF.snapshot(inv);
             inventoryInitialized = true;
-            log("INVENTORY", "Initialized inventory snapshot with " + lastInventorySnapshot.size() + " item types");
+            log("INVENTORY", "Initialized inventory snapshot with " + present + " item types");
         }
     }
 
-    private Set<Integer> getAllTrackedItemIds() {
-        Set<Integer> allIds = new HashSet<>();
-        allIds.addAll(CANNONBALL_TYPES.values());
-        allIds.addAll(ORE_TYPES.values());
-        return allIds;
-    }
-
     // thieving xp per steal at port roberts stalls
     private static final double CANNONBALL_STALL_XP = 223.0;
     private static final double ORE_STALL_XP = 191.0;
 
+    // per-call loot totals, filled by onLootGained
+    private boolean cannonballGained = false;
+    private boolean oreGained = false;
+    private long cannonballGp = 0;
+    private long oreGp = 0;
+    private final InventoryDiff.Listener lootListener = this::onLootGained;
+
     private void checkInventoryForChanges() {
-        Set<Integer> allIds = getAllTrackedItemIds();
-        ItemGroupResult inv = getWidgetManager().getInventory().search(allIds);
+        ItemGroupResult inv = getWidgetManager().getInventory().search(LOOT_DIFF.getIdSet());
 
         if (inv == null)
             return;
 
-        boolean cannonballGained = false;
-        boolean oreGained = false;
-
-        for (Map.Entry<String, Integer> entry : CANNONBALL_TYPES.entrySet()) {
-            String type = entry.getKey();
-            int itemId = entry.getValue();
-
-            int currentCount = inv.getAmount(itemId);
-            int lastCount = lastInventorySnapshot.getOrDefault(itemId, 0);
+        cannonballGained = false;
+        oreGained = false;
+        cannonballGp = 0;
+        oreGp = 0;
 
-            if (currentCount > lastCount) {
-                int gained = currentCount - lastCount;
-                cannonballCounts.merge(type, gained, Integer::sum);
-                cannonballsStolen += gained;
-
-                // calculate gp earned using locked-in price
-                int price = getItemPrice(itemId);
-                long gpGained = (long) gained * price;
-                totalGpEarned += gpGained;
-
-                log("LOOT", "+" + gained + " " + type + " (total: " + cannonballCounts.get(type) + ", +" + gpGained + " gp)");
-                cannonballGained = true;
-            }
-            lastInventorySnapshot.put(itemId, currentCount);
-        }
-
-        for (Map.Entry<String, Integer> entry : ORE_TYPES.entrySet()) {
-            String type = entry.getKey();
-            int itemId = entry.getValue();
-
-            int currentCount = inv.getAmount(itemId);
-            int lastCount = lastInventorySnapshot.getOrDefault(itemId, 0);
-
-            if (currentCount > lastCount) {
-                int gained = currentCount - lastCount;
-                oreCounts.merge(type, gained, Integer::sum);
-                oresStolen += gained;
+        if (LOOT_DIFF.diff(inv, lootListener) == 0)
+            return;
 
-                // calculate gp earned using locked-in price
-                int price = getItemPrice(itemId);
-                long gpGained = (long) gained * price;
-                totalGpEarned += gpGained;
+        // loot lands right after a server tick - feeds the tick phase estimate
+        tickClock.onInventoryChange(System.currentTimeMillis());
 
-                log("LOOT", "+" + gained + " " + type + " (total: " + oreCounts.get(type) + ", +" + gpGained + " gp)");
-                oreGained = true;
-            }
-            lastInventorySnapshot.put(itemId, currentCount);
+        // gp per steal feeds the two-stall cycle planner
+        if (twoStallMode && guardTracker != null) {
+            if (cannonballGained) guardTracker.getCyclePlanner().onLoot(true, cannonballGp);
+            if (oreGained) guardTracker.getCyclePlanner().onLoot(false, oreGp);
         }
 
         // track XP based on which stall was stolen from
@@ -404,8 +413,28 @@ public class TidalsCannonballThiever extends Script {
         }
     }
 
+    // called by the diff engine only for items whose count went up
+    private void onLootGained(int index, int gained, long gpGained) {
+        String type = LOOT_NAMES[index];
+        totalGpEarned += gpGained;
+
+        if (LOOT_IS_CANNONBALL[index]) {
+            cannonballCounts.merge(type, gained, Integer::sum);
+            cannonballsStolen += gained;
+            cannonballGp += gpGained;
+            cannonballGained = true;
+            log("LOOT", "+" + gained + " " + type + " (total: " + cannonballCounts.get(type) + ", +" + gpGained + " gp)");
+        } else {
+            oreCounts.merge(type, gained, Integer::sum);
+            oresStolen += gained;
+            oreGp += gpGained;
+            oreGained = true;
+            log("LOOT", "+" + gained + " " + type + " (total: " + oreCounts.get(type) + ", +" + gpGained + " gp)");
+        }
+    }
+
     public void resetInventorySnapshot() {
-        lastInventorySnapshot.clear();
+        LOOT_DIFF.reset();
         inventoryInitialized = false;
     }
 
@@ -421,7 +450,7 @@ public class TidalsCannonballThiever extends Script {
     private void updateItemPrices() {
         Thread t = new Thread(() -> {
             try {
-                Set<Integer> allItemIds = getAllTrackedItemIds();
+                Set<Integer> allItemIds = LOOT_DIFF.getIdSet();
                 log("PRICES", "Fetching prices for " + allItemIds.size() + " items...");
 
                 for (int itemId : allItemIds) {
@@ -471,6 +500,8 @@ public class TidalsCannonballThiever extends Script {
                     }
                 }
 
+                // gp per item is cached in the diff engine so loot events don't look prices up
+                LOOT_DIFF.cachePrices(itemPrices);
                 pricesLoaded = true;
                 log("PRICES", "Loaded prices for " + itemPrices.size() + " items from GE Tracker");
 
@@ -498,13 +529,6 @@ public class TidalsCannonballThiever extends Script {
         t.start();
     }
 
-    /**
-     * Gets the price of an item, returning 0 if not loaded.
-     */
-    private int getItemPrice(int itemId) {
-        return itemPrices.getOrDefault(itemId, 0);
-    }
-
     @Override
     public void onPaint(Canvas c) {
         long elapsed = System.currentTimeMillis() - startTime;
@@ -620,9 +644,10 @@ public class TidalsCannonballThiever extends Script {
         int cbLines = (cannonballsStolen > 0 || nonZeroCBTypes > 0) ? 1 + nonZeroCBTypes : 0;
         int oreLines = (oresStolen > 0 || nonZeroOreTypes > 0) ? 1 + nonZeroOreTypes : 0;
         int dividerLines = (cbLines > 0 && oreLines > 0) ? 1 : 0;
-        int modeLines = twoStallMode ? 1 : 0;
+        int modeLines = twoStallMode ? 2 : 0; // mode + cycle plan
+        int retreatLines = (!twoStallMode && retreatTracer != null && retreatTracer.getCount() > 0) ? 1 : 0;
         int gpLines = (totalGpEarned > 0) ? 2 : 0; // gp earned + gp/hr
-        int totalLines = 9 + cbLines + dividerLines + oreLines + gpLines + modeLines;
+        int totalLines = 9 + cbLines + dividerLines + oreLines + gpLines + modeLines + retreatLines;
         int separatorCount = 1 + dividerLines;
         int separatorOverhead = separatorCount * 12; // separator padding (per separator)
         int bottomPadding = 20; // bottom padding
@@ -749,6 +774,17 @@ public class TidalsCannonballThiever extends Script {
             String modeText = atOreStall ? "Ore Stall" : "Cannonball Stall";
             drawStatLine(c, innerX, innerWidth, paddingX, curY, "Mode", "Two Stall (" + modeText + ")",
                     textMuted.getRGB(), accentGold.getRGB());
+
+            curY += lineGap;
+            String planText = guardTracker != null ? guardTracker.getCyclePlanner().describePlan() : "-";
+            drawStatLine(c, innerX, innerWidth, paddingX, curY, "Cycle plan", planText,
+                    textMuted.getRGB(), valueGreen.getRGB());
+        }
+
+        if (retreatLines > 0) {
+            curY += lineGap;
+            drawStatLine(c, innerX, innerWidth, paddingX, curY, "Retreat p50/90/99", retreatTracer.describePercentiles(),
+                    textMuted.getRGB(), textLight.getRGB());
         }
     }
 
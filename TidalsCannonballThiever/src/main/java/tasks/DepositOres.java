@@ -19,10 +19,29 @@ import java.util.Set;
 import static main.TidalsCannonballThiever.*;
 
 // deposits items when inventory full (two-stall mode only)
+// when nearly full, plans the run into the guard's pass of the cb stall so the trip overlaps time we couldn't thieve
 // uses poll-based state machine - each execute() handles ONE state transition
 public class DepositOres extends Task {
     private static final WorldPosition DEPOSIT_BOX_TILE = new WorldPosition(1872, 3301, 0);
 
+    // nearly full = the next ore phase would leave at most this many free slots (ores don't stack)
+    private static final int SPARE_SLOTS = 1;
+    // only plan a deposit into a pass that blocks the cb stall at least this long
+    private static final long MIN_BLOCKED_MS = 2400;
+
+    // measured deposit trip (ms), logged against the blocked window it was planned into
+    private static final double TRIP_ALPHA = 0.3;
+    private static final long DEFAULT_TRIP_MS = 12000;
+    private double tripMs = DEFAULT_TRIP_MS;
+    private int tripSamples = 0;
+    private long depositStartedAt = 0;
+
+    private boolean plannedRun = false;
+    private int plannedFreeSlots = 0;
+    private long plannedBlockedMs = 0;
+    private int plannedDeposits = 0;
+    private int forcedDeposits = 0;
+
     private final WalkConfig exactTileConfig;
     private final WalkConfig depositBoxWalkConfig;
 
@@ -57,18 +76,41 @@ public class DepositOres extends Task {
         ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of());
         if (inv != null && inv.isFull()) {
             script.log("DEPOSIT", "Inventory full (28/28) - need to deposit!");
+            plannedRun = false;
             return true;
         }
 
         // fallback: dialogue check
         if (hasInventoryFullDialogue()) {
             script.log("DEPOSIT", "Detected 'inventory too full' dialogue (fallback)!");
+            plannedRun = false;
+            return true;
+        }
+
+        // planned: nearly full and the guard is about to block the cb stall - deposit during the pass
+        if (inv != null && isPlannedDepositWindow(inv)) {
+            plannedRun = true;
             return true;
         }
 
         return false;
     }
 
+    private boolean isPlannedDepositWindow(ItemGroupResult inv) {
+        if (!currentlyThieving || atOreStall || guardTracker == null) return false;
+        if (guardTracker.needsGuardSync()) return false;
+
+        int freeSlots = inv.getFreeSlots();
+        if (freeSlots > guardTracker.getCyclePlanner().getOreTarget() + SPARE_SLOTS) return false;
+
+        long blockedMs = guardTracker.predictCbBlockedMs();
+        if (blockedMs < MIN_BLOCKED_MS) return false;
+
+        plannedFreeSlots = freeSlots;
+        plannedBlockedMs = blockedMs;
+        return true;
+    }
+
     private boolean hasInventoryFullDialogue() {
         // dialogue object is never null - just check visibility
         Dialogue dialogue = script.getWidgetManager().getDialogue();
@@ -87,6 +129,16 @@ public class DepositOres extends Task {
     @Override
     public boolean execute() {
         task = "Depositing ores";
+        if (!doingDepositRun) {
+            depositStartedAt = System.currentTimeMillis();
+            if (plannedRun) {
+                plannedDeposits++;
+                script.log("DEPOSIT", String.format("Planned deposit - %d free slots, CB stall blocked for ~%dms of a ~%dms trip",
+                        plannedFreeSlots, plannedBlockedMs, (long) tripMs));
+            } else {
+                forcedDeposits++;
+            }
+        }
         currentlyThieving = false;
         doingDepositRun = true;
 
@@ -169,7 +221,17 @@ public class DepositOres extends Task {
             guardTracker.enableGuardSync(); // wait to see guard leave before starting
         }
 
-        script.log("DEPOSIT", "Deposit run complete!");
+        if (depositStartedAt != 0) {
+            long trip = System.currentTimeMillis() - depositStartedAt;
+            tripMs = tripSamples == 0 ? trip : tripMs + TRIP_ALPHA * (trip - tripMs);
+            tripSamples++;
+            depositStartedAt = 0;
+            script.log("DEPOSIT", String.format("Deposit run complete! (%s, %.1fs, avg %.1fs, planned %d / forced %d)",
+                    plannedRun ? "planned" : "forced", trip / 1000.0, tripMs / 1000.0, plannedDeposits, forcedDeposits));
+        } else {
+            script.log("DEPOSIT", "Deposit run complete!");
+        }
+        plannedRun = false;
     }
 
     private boolean openDepositBoxWithMenu() {
@@ -11,6 +11,8 @@ import com.osmb.api.utils.UIResult;
 import com.osmb.api.walker.WalkConfig;
 import utilities.RetryUtils;
 import utilities.TabUtils;
+import utils.JailEscapePlanner;
+import utils.JailEscapePlanner.Method;
 import utils.Task;
 
 import static main.TidalsCannonballThiever.*;
@@ -22,6 +24,9 @@ import static main.TidalsCannonballThiever.*;
  * - IN_CELL: pick lock or teleport
  * - WALKING_BACK: walk to stall
  * - AT_STALL: reset and complete
+ *
+ * The way out of the cell (amulet teleport or lock pick) is picked from measured
+ * time-to-resume, and the walk back is set up while still in the cell.
  */
 public class EscapeJail extends Task {
     public static final RectangleArea JAIL_CELL = new RectangleArea(1883, 3272, 2, 2, 0);
@@ -33,7 +38,6 @@ public class EscapeJail extends Task {
 
     // thieving tiles
     private static final WorldPosition THIEVING_TILE_SINGLE = new WorldPosition(1867, 3298, 0);
-    private static final WorldPosition THIEVING_TILE_TWO_STALL = new WorldPosition(1867, 3295, 0);
 
     // escape state tracking
     private boolean escapeInProgress = false;
@@ -44,6 +48,20 @@ public class EscapeJail extends Task {
     private boolean waitingForTeleport = false;
     private long teleportStartTime = 0;
     private long teleportTimeout = 0;
+    private boolean teleportFailed = false;
+
+    // learned escape costs - persists across jails for the whole session
+    private final JailEscapePlanner escapePlanner = new JailEscapePlanner();
+    private Method chosenMethod = null;
+    private Method exitMethod = null;
+    private Boolean amuletAvailable = null; // checked once per escape, opening equipment isn't free
+    private long caughtAt = 0;
+    private long outOfCellAt = 0;
+
+    // walk back, built when the escape starts rather than on every walking poll
+    private WorldPosition walkTarget;
+    private WalkConfig approachConfig;
+    private WalkConfig minimapConfig;
 
     public EscapeJail(Script script) {
         super(script);
@@ -98,10 +116,23 @@ public class EscapeJail extends Task {
         escapeInProgress = true;
         escapeAttempts++;
         waitingForTeleport = false;
+        teleportFailed = false;
+        chosenMethod = null;
+        exitMethod = null;
+        amuletAvailable = null;
+        caughtAt = System.currentTimeMillis();
+        outOfCellAt = 0;
+        prepareWalkBack();
         currentlyThieving = false;
         task = "Escaping jail!";
         script.log("JAIL", "Caught! Escape attempt " + escapeAttempts + "/" + MAX_ESCAPE_ATTEMPTS);
 
+        // correlate the jail with the retreat that preceded it
+        if (!twoStallMode) {
+            retreatTracer.onJailed(System.currentTimeMillis());
+            script.log("RETREAT", retreatTracer.describeReport());
+        }
+
         if (escapeAttempts > MAX_ESCAPE_ATTEMPTS) {
             script.log("JAIL", "ERROR: Max escape attempts reached, stopping script");
             script.stop();
@@ -119,8 +150,17 @@ public class EscapeJail extends Task {
             return checkTeleportProgress();
         }
 
-        // try amulet teleport first if available
-        if (hasSailorsAmulet()) {
+        if (chosenMethod == null) {
+            if (amuletAvailable == null) {
+                amuletAvailable = hasSailorsAmulet();
+            }
+            chosenMethod = escapePlanner.choose(amuletAvailable);
+            script.log("JAIL", "Escaping via " + (chosenMethod == Method.TELEPORT ? "amulet teleport" : "lock pick")
+                    + " - " + escapePlanner.describe());
+        }
+
+        // teleport if it's the cheaper way out and hasn't already failed this escape
+        if (chosenMethod == Method.TELEPORT && !teleportFailed) {
             return attemptAmuletTeleport();
         }
 
@@ -128,6 +168,33 @@ public class EscapeJail extends Task {
         return attemptLockPick();
     }
 
+    /**
+     * Build the walk back to the stall up front so leaving the cell goes straight into walking
+     */
+    private void prepareWalkBack() {
+        WorldPosition thievingTile = getThievingTile();
+        walkTarget = thievingTile;
+
+        approachConfig = new WalkConfig.Builder()
+                .setWalkMethods(true, false) // screen only
+                .breakDistance(0)
+                .tileRandomisationRadius(0)
+                .timeout(RandomUtils.weightedRandom(8000, 12000, 0.002))
+                .build();
+
+        minimapConfig = new WalkConfig.Builder()
+                .setWalkMethods(false, true) // minimap only
+                .breakDistance(10) // stop when close enough for screen walk
+                .tileRandomisationRadius(2)
+                .timeout(RandomUtils.weightedRandom(15000, 25000, 0.002))
+                .breakCondition(() -> {
+                    WorldPosition pos = script.getWorldPosition();
+                    if (pos == null) return false;
+                    return pos.distanceTo(thievingTile) < 12;
+                })
+                .build();
+    }
+
     /**
      * Attempt teleport with sailor's amulet
      */
@@ -141,6 +208,7 @@ public class EscapeJail extends Task {
 
         if (!interacted) {
             script.log("JAIL", "Failed to interact with amulet, will try lock pick");
+            teleportFailed = true;
             return false; // next poll will try lock pick
         }
 
@@ -163,6 +231,9 @@ public class EscapeJail extends Task {
             script.log("JAIL", "Teleport successful! Now at " +
                     (int) myPos.getX() + ", " + (int) myPos.getY());
             waitingForTeleport = false;
+            escapePlanner.onTeleport(System.currentTimeMillis() - teleportStartTime, true);
+            exitMethod = Method.TELEPORT;
+            outOfCellAt = System.currentTimeMillis();
             // add small delay after teleport
             script.pollFramesHuman(() -> true, RandomUtils.weightedRandom(400, 800, 0.002));
             return false; // next poll will handle walking
@@ -172,6 +243,8 @@ public class EscapeJail extends Task {
         if (System.currentTimeMillis() - teleportStartTime > teleportTimeout) {
             script.log("JAIL", "Teleport timed out, falling back to lock pick");
             waitingForTeleport = false;
+            teleportFailed = true;
+            escapePlanner.onTeleport(System.currentTimeMillis() - teleportStartTime, false);
             return false; // next poll will try lock pick
         }
 
@@ -211,13 +284,19 @@ public class EscapeJail extends Task {
 
         // wait for lock pick result
         script.log("JAIL", "Picklock action sent, waiting for result...");
+        long pickStart = System.currentTimeMillis();
         boolean success = script.pollFramesUntil(() -> {
             // success if: chat says "succeed" OR we're out of cell
             return chatContainsSuccess() || isOutOfCell();
         }, RandomUtils.weightedRandom(10000, 15000, 0.002));
 
-        if (success || isOutOfCell()) {
+        boolean picked = success || isOutOfCell();
+        escapePlanner.onLockPick(System.currentTimeMillis() - pickStart, picked);
+
+        if (picked) {
             script.log("JAIL", "Lock picked successfully!");
+            exitMethod = Method.LOCK_PICK;
+            outOfCellAt = System.currentTimeMillis();
             script.pollFramesHuman(() -> true, RandomUtils.weightedRandom(400, 1000, 0.002));
         } else {
             script.log("JAIL", "Lock pick failed or timed out, will retry");
@@ -230,42 +309,25 @@ public class EscapeJail extends Task {
      * Handle walking back to stall from outside jail cell
      */
     private boolean handleWalkingBack(WorldPosition myPos) {
-        WorldPosition thievingTile = getThievingTile();
+        if (outOfCellAt == 0) outOfCellAt = System.currentTimeMillis();
+        if (walkTarget != getThievingTile()) {
+            prepareWalkBack(); // mode changed mid-escape
+        }
+        WorldPosition thievingTile = walkTarget;
         double distance = myPos.distanceTo(thievingTile);
 
         // close to stall? use screen walk for precision
         if (distance < 12) {
             task = "Final approach";
             script.log("JAIL", "Close to stall, screen walking to exact tile");
-
-            WalkConfig config = new WalkConfig.Builder()
-                    .setWalkMethods(true, false) // screen only
-                    .breakDistance(0)
-                    .tileRandomisationRadius(0)
-                    .timeout(RandomUtils.weightedRandom(8000, 12000, 0.002))
-                    .build();
-
-            script.getWalker().walkTo(thievingTile, config);
+            script.getWalker().walkTo(thievingTile, approachConfig);
             return false; // re-evaluate next poll
         }
 
         // farther away - use minimap walk
         task = "Walking to stall";
         script.log("JAIL", "Walking to stall (distance: " + (int) distance + ")");
-
-        WalkConfig config = new WalkConfig.Builder()
-                .setWalkMethods(false, true) // minimap only
-                .breakDistance(10) // stop when close enough for screen walk
-                .tileRandomisationRadius(2)
-                .timeout(RandomUtils.weightedRandom(15000, 25000, 0.002))
-                .breakCondition(() -> {
-                    WorldPosition pos = script.getWorldPosition();
-                    if (pos == null) return false;
-                    return pos.distanceTo(thievingTile) < 12;
-                })
-                .build();
-
-        script.getWalker().walkTo(thievingTile, config);
+        script.getWalker().walkTo(thievingTile, minimapConfig);
         return false; // re-evaluate next poll
     }
 
@@ -276,6 +338,21 @@ public class EscapeJail extends Task {
         script.log("JAIL", "Escaped and back at stall!");
         task = "Escape complete";
 
+        // charge the time lost to the method we picked, and the walk to the way we actually got out
+        long now = System.currentTimeMillis();
+        if (chosenMethod != null && caughtAt != 0) {
+            if (outOfCellAt != 0) {
+                escapePlanner.onWalkBack(exitMethod != null ? exitMethod : chosenMethod, now - outOfCellAt);
+            }
+            escapePlanner.onResumed(chosenMethod, now - caughtAt);
+            script.log("JAIL", String.format("Back thieving %.1fs after the jail - %s",
+                    (now - caughtAt) / 1000.0, escapePlanner.describe()));
+        }
+        chosenMethod = null;
+        exitMethod = null;
+        caughtAt = 0;
+        outOfCellAt = 0;
+
         // reset escape tracking
         escapeInProgress = false;
         escapeAttempts = 0;
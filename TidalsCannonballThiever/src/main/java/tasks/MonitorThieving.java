@@ -33,6 +33,7 @@ public class MonitorThieving extends Task {
                 return guardTracker.isAnyGuardInDangerZone();
             }, 500);
             if (conditionMet) {
+                retreatTracer.onDecision(System.currentTimeMillis());
                 script.log("MONITOR", "DANGER! Guard in zone - retreating!");
             }
         }
@@ -58,11 +59,16 @@ public class MonitorThieving extends Task {
             double currentXp = xpTracking.getThievingXpGained();
             guardTracker.checkCbXpDrop(currentXp);
 
-            // priority 1: XP-based switch (4 thieves done)
+            // priority 1: XP-based switch (4 thieves done, more if the patrol model predicts room)
             if (guardTracker.shouldSwitchToOreByXp()) {
                 return true;
             }
 
+            // priority 1b: patrol model predicts the guard reaches the stall before another steal lands
+            if (guardTracker.isCbWindowClosing()) {
+                return true;
+            }
+
             // priority 2: preemptive switch (guard at 1865 + low count + timer elapsed)
             if (guardTracker.shouldPreemptiveSwitchToOre()) {
                 return true;
@@ -83,7 +89,7 @@ public class MonitorThieving extends Task {
 
         if (shouldSwitch) {
             if (guardTracker.shouldSwitchToOreByXp()) {
-                script.log("MONITOR", "4 CB thieves done - time to switch!");
+                script.log("MONITOR", guardTracker.getCbXpDropCount() + " CB thieves done - time to switch!");
             } else if (guardTracker.shouldPreemptiveSwitchToOre()) {
                 script.log("MONITOR", "Preemptive switch - low count and guard approaching!");
             } else if (!isInventoryFull()) {
@@ -124,7 +130,7 @@ public class MonitorThieving extends Task {
         
         if (shouldSwitch) {
             if (guardTracker.shouldSwitchToCbByXp()) {
-                script.log("MONITOR", "2 ore thieves done - switching to CB!");
+                script.log("MONITOR", guardTracker.getOreXpDropCount() + " ore thieves done - switching to CB!");
             } else if (!isInventoryFull()) {
                 script.log("MONITOR", "Guard/safety check triggered - switching (backup)!");
             }
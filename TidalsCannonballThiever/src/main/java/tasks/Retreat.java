@@ -8,8 +8,6 @@ import utils.Task;
 import static main.TidalsCannonballThiever.*;
 
 public class Retreat extends Task {
-    private static final WorldPosition SAFETY_TILE = new WorldPosition(1867, 3299, 0);
-
     private boolean retreating = false;
 
     public Retreat(Script script) {
@@ -20,7 +18,12 @@ public class Retreat extends Task {
     public boolean activate() {
         if (twoStallMode) return false;
         // stay active while retreating even if guard moved away
-        if (retreating) return !isAtSafetyTile();
+        if (retreating) {
+            if (!isAtSafetyTile()) return true;
+            // arrived between polls - execute won't run again, so finish the retreat here
+            completeRetreat();
+            return false;
+        }
         return currentlyThieving && guardTracker.isAnyGuardInDangerZone();
     }
 
@@ -32,8 +35,7 @@ public class Retreat extends Task {
         // state: already retreating - wait for arrival
         if (retreating) {
             if (isAtSafetyTile()) {
-                script.log("RETREAT", "Safe! Waiting for guard to pass...");
-                retreating = false;
+                completeRetreat();
                 return true;
             }
             // still moving, re-poll
@@ -42,16 +44,28 @@ public class Retreat extends Task {
 
         // state: initiate retreat - tap tile or walker fallback
         script.log("RETREAT", "Guard danger - stepping back!");
-        if (!tapOnTile(SAFETY_TILE)) {
+        boolean tapped = tapSafetyTile();
+        retreatTracer.onTap(System.currentTimeMillis());
+        if (!tapped) {
             script.log("RETREAT", "Tap failed, using walker fallback...");
-            script.getWalker().walkTo(SAFETY_TILE);
+            script.getWalker().walkTo(SAFETY_TILE_SINGLE);
         }
         retreating = true;
         return true;
     }
     
-    private boolean tapOnTile(WorldPosition tile) {
-        Polygon tilePoly = script.getSceneProjector().getTileCube(tile, 0);
+    private void completeRetreat() {
+        retreatTracer.onArrived(System.currentTimeMillis());
+        script.log("RETREAT", "Safe! Waiting for guard to pass...");
+        retreating = false;
+    }
+
+    private boolean tapSafetyTile() {
+        // pre-projected while we were thieving - no projection on the danger path
+        Polygon tilePoly = tapTargets.getSafetyTile();
+        if (tilePoly == null) {
+            tilePoly = script.getSceneProjector().getTileCube(SAFETY_TILE_SINGLE, 0);
+        }
         if (tilePoly == null) return false;
         return script.getFinger().tapGameScreen(tilePoly);
     }
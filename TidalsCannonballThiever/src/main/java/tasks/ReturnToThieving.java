@@ -13,7 +13,6 @@ import static main.TidalsCannonballThiever.*;
 public class ReturnToThieving extends Task {
     private static final WorldPosition THIEVING_TILE_SINGLE = new WorldPosition(1867, 3298, 0);
     private static final RectangleArea THIEVING_AREA_SINGLE = new RectangleArea(1865, 3296, 1869, 3300, 0);
-    private static final WorldPosition THIEVING_TILE_TWO_STALL = new WorldPosition(1867, 3295, 0);
     private static final RectangleArea THIEVING_AREA_TWO_STALL = new RectangleArea(1862, 3293, 1869, 3297, 0);
 
     private WorldPosition getThievingTile() {
@@ -135,7 +134,11 @@ public class ReturnToThieving extends Task {
     }
     
     private boolean tapOnTile(WorldPosition tile) {
-        Polygon tilePoly = script.getSceneProjector().getTileCube(tile, 0);
+        // the two-stall tile is pre-projected while we wait at the safety tile
+        Polygon tilePoly = tapTargets.getTileCube(tile);
+        if (tilePoly == null) {
+            tilePoly = script.getSceneProjector().getTileCube(tile, 0);
+        }
         if (tilePoly == null) return false;
         return script.getFinger().tapGameScreen(tilePoly);
     }
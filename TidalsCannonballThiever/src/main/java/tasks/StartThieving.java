@@ -17,7 +17,6 @@ public class StartThieving extends Task {
     private static final RectangleArea THIEVING_AREA_SINGLE = new RectangleArea(1865, 3296, 1869, 3300, 0);
 
     // two-stall mode
-    private static final WorldPosition THIEVING_TILE_TWO_STALL = new WorldPosition(1867, 3295, 0);
     private static final RectangleArea THIEVING_AREA_TWO_STALL = new RectangleArea(1862, 3293, 1869, 3297, 0);
 
     private static boolean initialPositionDone = false;
@@ -146,7 +145,8 @@ public class StartThieving extends Task {
         // state: executing pre-theft delay (set on previous poll)
         if (delayPending) {
             delayPending = false;
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(80, 400, 0.002));
+            // wait out the rest of this tick - anything longer only spills into the next one
+            tickClock.waitForTick(script, 1);
             if (guardTracker.isAnyGuardInDangerZone()) {
                 script.log("THIEVE", "ABORT - Guard moved in during delay!");
                 return false;
@@ -169,11 +169,15 @@ public class StartThieving extends Task {
             return false;
         }
 
-        // state: find stall
-        RSObject stall = script.getObjectManager().getClosestObject(myPos, "Cannonball stall");
-        if (stall == null) {
-            script.log("THIEVE", "ERROR: Can't find Cannonball stall!");
-            return false;
+        // state: find stall - pre-projected hull while the camera is still
+        Polygon stallPoly = tapTargets.getCannonballStall();
+        if (stallPoly == null) {
+            RSObject stall = script.getObjectManager().getClosestObject(myPos, "Cannonball stall");
+            if (stall == null) {
+                script.log("THIEVE", "ERROR: Can't find Cannonball stall!");
+                return false;
+            }
+            stallPoly = stall.getConvexHull();
         }
 
         // state: last-second danger check before tap
@@ -183,7 +187,6 @@ public class StartThieving extends Task {
         }
 
         // state: validate stall geometry
-        Polygon stallPoly = stall.getConvexHull();
         if (stallPoly == null) {
             script.log("THIEVE", "Stall convex hull null, will retry...");
             return false;
@@ -211,6 +214,7 @@ public class StartThieving extends Task {
             double currentXp = xpTracking.getCurrentXp();
             guardTracker.initXpTracking(currentXp);
             guardTracker.resetCbCycle();
+            guardTracker.getCyclePlanner().onResumedAfterJail(System.currentTimeMillis());
             script.log("THIEVE", "Initialized XP cycle tracking (baseline: " + currentXp + ")");
         }
 
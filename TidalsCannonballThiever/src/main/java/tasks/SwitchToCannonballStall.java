@@ -20,7 +20,7 @@ public class SwitchToCannonballStall extends Task {
         if (!atOreStall) return false;
 
         if (guardTracker.shouldSwitchToCbByXp()) {
-            script.log("SWITCH", "2 ore thieves done - switching to CB (XP cycle)");
+            script.log("SWITCH", guardTracker.getOreXpDropCount() + " ore thieves done - switching to CB (XP cycle)");
             return true;
         }
         
@@ -51,6 +51,7 @@ public class SwitchToCannonballStall extends Task {
         }
 
         // state changes only after click confirmed
+        guardTracker.recordSwitchToCannonball();
         guardTracker.markXpBasedSwitch();
         guardTracker.resetCbCycle();
         guardTracker.resetGuardTracking();
@@ -68,19 +69,23 @@ public class SwitchToCannonballStall extends Task {
 
     private boolean startCannonballThieving() {
         // no delays - timing critical, poll cycle handles retry
-        WorldPosition myPos = script.getWorldPosition();
-        if (myPos == null) return false;
-
-        RSObject stall = script.getObjectManager().getClosestObject(myPos, "Cannonball stall");
-        if (stall == null) {
-            script.log("SWITCH", "Can't find Cannonball stall!");
-            return false;
-        }
-
-        Polygon stallPoly = stall.getConvexHull();
+        // pre-projected hull while the camera is still, live lookup otherwise
+        Polygon stallPoly = tapTargets.getCannonballStall();
         if (stallPoly == null) {
-            script.log("SWITCH", "Cannonball stall hull null");
-            return false;
+            WorldPosition myPos = script.getWorldPosition();
+            if (myPos == null) return false;
+
+            RSObject stall = script.getObjectManager().getClosestObject(myPos, "Cannonball stall");
+            if (stall == null) {
+                script.log("SWITCH", "Can't find Cannonball stall!");
+                return false;
+            }
+
+            stallPoly = stall.getConvexHull();
+            if (stallPoly == null) {
+                script.log("SWITCH", "Cannonball stall hull null");
+                return false;
+            }
         }
 
         boolean tapped = script.getFinger().tapGameScreen(stallPoly);
@@ -21,7 +21,12 @@ public class SwitchToOreStall extends Task {
 
         // priority 1: switch on 4 XP drops
         if (guardTracker.shouldSwitchToOreByXp()) {
-            script.log("SWITCH", "4 CB thieves done - switching to ore (XP cycle)");
+            script.log("SWITCH", guardTracker.getCbXpDropCount() + " CB thieves done - switching to ore (XP cycle)");
+            return true;
+        }
+
+        // priority 1b: patrol model predicts the guard reaches the stall before another steal lands
+        if (guardTracker.isCbWindowClosing()) {
             return true;
         }
 
@@ -58,6 +63,7 @@ public class SwitchToOreStall extends Task {
         }
 
         // state changes only after click confirmed
+        guardTracker.recordSwitchToOre();
         guardTracker.resetOreCycle();
         guardTracker.resetGuardTracking();
 
@@ -75,19 +81,23 @@ public class SwitchToOreStall extends Task {
 
     private boolean startOreThieving() {
         // no delays - timing critical, poll cycle handles retry
-        WorldPosition myPos = script.getWorldPosition();
-        if (myPos == null) return false;
-
-        RSObject stall = script.getObjectManager().getClosestObject(myPos, "Ore stall");
-        if (stall == null) {
-            script.log("SWITCH", "Can't find Ore stall!");
-            return false;
-        }
-
-        Polygon stallPoly = stall.getConvexHull();
+        // pre-projected hull while the camera is still, live lookup otherwise
+        Polygon stallPoly = tapTargets.getOreStall();
         if (stallPoly == null) {
-            script.log("SWITCH", "Ore stall hull null");
-            return false;
+            WorldPosition myPos = script.getWorldPosition();
+            if (myPos == null) return false;
+
+            RSObject stall = script.getObjectManager().getClosestObject(myPos, "Ore stall");
+            if (stall == null) {
+                script.log("SWITCH", "Can't find Ore stall!");
+                return false;
+            }
+
+            stallPoly = stall.getConvexHull();
+            if (stallPoly == null) {
+                script.log("SWITCH", "Ore stall hull null");
+                return false;
+            }
         }
 
         boolean tapped = script.getFinger().tapGameScreen(stallPoly);
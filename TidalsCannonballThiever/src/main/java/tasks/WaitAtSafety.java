@@ -30,7 +30,8 @@ public class WaitAtSafety extends Task {
         }, RandomUtils.weightedRandom(8000, 12000, 0.002));
 
         if (RandomUtils.uniformRandom(1, 100) <= 30) {
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(150, 800, 0.002));
+            // one or two ticks of hesitation, ending just before a boundary
+            tickClock.waitForTick(script, RandomUtils.uniformRandom(1, 2));
         }
 
         return true;
@@ -0,0 +1,260 @@
+package utils;
+
+/**
+ * picks cannonball/ore steals per guard cycle for two-stall mode
+ * measures steal intervals, switch overhead, gp per steal, how many steals actually fit each
+ * stall window and jails per plan, then chooses the plan with the best expected gp/hr whose
+ * estimated jail risk stays under budget
+ * a plan that keeps running clean also tries one steal more at a stall, so the plan can grow back after a bad patch
+ */
+public class CyclePlanner {
+
+    public static final int DEFAULT_CB = 4;
+    public static final int DEFAULT_ORE = 2;
+
+    // plans considered around the default 4-2 rhythm
+    // ore never drops below the default - the ore phase is what keeps us off the cb stall while the guard passes
+    private static final int MIN_CB = 3;
+    private static final int MAX_CB = 6;
+    private static final int MIN_ORE = DEFAULT_ORE;
+    private static final int MAX_ORE = 3;
+
+    // max acceptable jail chance per cycle
+    private static final double JAIL_RISK_BUDGET = 0.03;
+
+    // prior jail risk for a plan that fits the measured windows / one that doesn't
+    private static final double FITTING_PLAN_RISK = 0.01;
+    private static final double OVERSIZED_PLAN_RISK = 0.25;
+    private static final double PRIOR_CYCLES = 5; // weight of the prior in cycles
+
+    // capacity margin - a plan must fit this many steals under the measured window
+    private static final double CAPACITY_MARGIN = 0.5;
+
+    // priors until measured
+    private static final double PRIOR_STEAL_MS = 2400;
+    private static final double PRIOR_SWITCH_MS = 1800;
+    private static final double PRIOR_JAIL_MS = 30000;
+
+    private static final double ALPHA = 0.3;
+    private static final long MAX_STEAL_INTERVAL_MS = 10000;
+
+    // re-plan only after this many cycles on the current plan (avoids flapping)
+    private static final int MIN_CYCLES_PER_PLAN = 3;
+
+    // after this many clean cycles in a row, one steal more at one stall is tried as if it fits
+    // the jail counts for that plan then decide whether it stays
+    private static final int EXPLORE_AFTER_CLEAN_CYCLES = 6;
+
+    private static final int CB = 0;
+    private static final int ORE = 1;
+
+    private final double[] stealMs = {Double.NaN, Double.NaN};
+    private final double[] gpPerSteal = {Double.NaN, Double.NaN};
+    private final long[] lastStealTime = new long[2];
+
+    // steals that fit a window: ewma of guard-forced exits, never below the ewma of clean count-based exits
+    // each sample is the steals done plus the room the patrol model still predicted when we left,
+    // so it measures the window itself rather than the plan that was running
+    private final double[] capacity = {Double.NaN, Double.NaN};
+    private final double[] completed = {Double.NaN, Double.NaN};
+
+    private double switchMs = Double.NaN;
+    private double jailMs = Double.NaN;
+    private long switchStartedAt = 0;
+    private long jailedAt = 0;
+
+    // per-plan cycle and jail counts, indexed [cb][ore]
+    private final int[][] cycles = new int[MAX_CB + 1][MAX_ORE + 1];
+    private final int[][] jails = new int[MAX_CB + 1][MAX_ORE + 1];
+
+    private int cbTarget = DEFAULT_CB;
+    private int oreTarget = DEFAULT_ORE;
+    private int cyclesOnPlan = 0;
+    private int cleanCycles = 0;
+    private boolean cycleForced = false;
+    private double expectedGpHr = 0;
+
+    /**
+     * a steal landed at the cb (true) or ore stall
+     */
+    public void onSteal(boolean cannonball, long now) {
+        int stall = cannonball ? CB : ORE;
+        if (switchStartedAt != 0) {
+            // first steal after a switch closes the switch overhead sample
+            switchMs = smooth(switchMs, now - switchStartedAt);
+            switchStartedAt = 0;
+        } else if (lastStealTime[stall] != 0) {
+            long interval = now - lastStealTime[stall];
+            if (interval > 0 && interval <= MAX_STEAL_INTERVAL_MS) {
+                stealMs[stall] = smooth(stealMs[stall], interval);
+            }
+        }
+        lastStealTime[stall] = now;
+    }
+
+    /**
+     * gp from a steal's loot at locked-in prices
+     */
+    public void onLoot(boolean cannonball, long gp) {
+        if (gp <= 0) return;
+        int stall = cannonball ? CB : ORE;
+        gpPerSteal[stall] = smooth(gpPerSteal[stall], gp);
+    }
+
+    /**
+     * a stall phase ended and we're switching to the other stall
+     * @param steals steals completed at the stall we're leaving
+     * @param room further steals the patrol model predicted would still fit when we left, 0 if unknown
+     * @param forced true if the guard forced the switch before the planned count
+     */
+    public void onSwitch(boolean leavingCannonball, int steals, double room, boolean forced, long now) {
+        int stall = leavingCannonball ? CB : ORE;
+        double window = steals + Math.max(0, room);
+        if (forced) {
+            capacity[stall] = smooth(capacity[stall], window);
+            cycleForced = true;
+        } else {
+            completed[stall] = smooth(completed[stall], window);
+        }
+        switchStartedAt = now;
+        lastStealTime[stall] = 0;
+
+        // leaving ore closes a full guard cycle
+        if (!leavingCannonball) {
+            cycles[cbTarget][oreTarget]++;
+            cyclesOnPlan++;
+            cleanCycles = cycleForced ? 0 : cleanCycles + 1;
+            cycleForced = false;
+            if (cyclesOnPlan >= MIN_CYCLES_PER_PLAN) {
+                replan();
+            }
+        }
+    }
+
+    /**
+     * caught while two-stall thieving - charged to the plan that was running
+     */
+    public void onJailed(long now) {
+        jails[cbTarget][oreTarget]++;
+        jailedAt = now;
+        switchStartedAt = 0;
+        lastStealTime[CB] = 0;
+        lastStealTime[ORE] = 0;
+        cleanCycles = 0;
+        cycleForced = false;
+        // back off to the safest plan immediately, the measurements decide from there
+        cyclesOnPlan = 0;
+        replan();
+    }
+
+    /**
+     * first stall tap after a jail - closes the time-lost sample
+     */
+    public void onResumedAfterJail(long now) {
+        if (jailedAt == 0) return;
+        jailMs = smooth(jailMs, now - jailedAt);
+        jailedAt = 0;
+    }
+
+    public int getCbTarget() {
+        return cbTarget;
+    }
+
+    public int getOreTarget() {
+        return oreTarget;
+    }
+
+    public double getExpectedGpHr() {
+        return expectedGpHr;
+    }
+
+    /**
+     * short plan label for the paint, e.g. "4-2 (~310k/hr)"
+     */
+    public String describePlan() {
+        String plan = cbTarget + "-" + oreTarget;
+        if (expectedGpHr <= 0) return plan;
+        return plan + " (~" + Math.round(expectedGpHr / 1000) + "k/hr)";
+    }
+
+    /**
+     * expected gp/hr of a plan, or -1 if it breaks the jail risk budget
+     */
+    public double evaluate(int cb, int ore) {
+        double risk = jailRisk(cb, ore);
+        if (risk > JAIL_RISK_BUDGET) return -1;
+
+        double gpCb = valueOr(gpPerSteal[CB], 0);
+        double gpOre = valueOr(gpPerSteal[ORE], 0);
+        double cycleMs = cb * valueOr(stealMs[CB], PRIOR_STEAL_MS)
+                + ore * valueOr(stealMs[ORE], PRIOR_STEAL_MS)
+                + 2 * valueOr(switchMs, PRIOR_SWITCH_MS);
+
+        // a jailed cycle loses its loot and costs the recovery time
+        double expectedGp = (1 - risk) * (cb * gpCb + ore * gpOre);
+        double expectedMs = cycleMs + risk * valueOr(jailMs, PRIOR_JAIL_MS);
+        return expectedGp / expectedMs * 3_600_000.0;
+    }
+
+    private void replan() {
+        int bestCb = DEFAULT_CB;
+        int bestOre = DEFAULT_ORE;
+        double best = evaluate(DEFAULT_CB, DEFAULT_ORE);
+
+        for (int cb = MIN_CB; cb <= MAX_CB; cb++) {
+            for (int ore = MIN_ORE; ore <= MAX_ORE; ore++) {
+                double value = evaluate(cb, ore);
+                if (value > best) {
+                    best = value;
+                    bestCb = cb;
+                    bestOre = ore;
+                }
+            }
+        }
+
+        // nothing inside budget - fall back to the smallest plan
+        if (best < 0) {
+            bestCb = MIN_CB;
+            bestOre = MIN_ORE;
+            best = Math.max(0, evaluate(MIN_CB, MIN_ORE));
+        }
+
+        if (bestCb != cbTarget || bestOre != oreTarget) {
+            cbTarget = bestCb;
+            oreTarget = bestOre;
+            cyclesOnPlan = 0;
+            cleanCycles = 0;
+        }
+        expectedGpHr = best;
+    }
+
+    // beta-style estimate: prior from whether the plan fits the measured windows, updated by observed jails
+    private double jailRisk(int cb, int ore) {
+        boolean fits = (fits(CB, cb) && fits(ORE, ore)) || isExplorationStep(cb, ore);
+        double prior = fits ? FITTING_PLAN_RISK : OVERSIZED_PLAN_RISK;
+        return (jails[cb][ore] + prior * PRIOR_CYCLES) / (cycles[cb][ore] + PRIOR_CYCLES);
+    }
+
+    private boolean fits(int stall, int steals) {
+        int defaultSteals = stall == CB ? DEFAULT_CB : DEFAULT_ORE;
+        if (steals <= defaultSteals && Double.isNaN(capacity[stall])) return true;
+
+        double clean = valueOr(completed[stall], 0);
+        double cap = Math.max(valueOr(capacity[stall], 0), clean);
+        return steals <= cap - CAPACITY_MARGIN || steals <= Math.floor(clean);
+    }
+
+    // one steal more at exactly one stall, once the current plan has run clean for a while
+    private boolean isExplorationStep(int cb, int ore) {
+        if (cleanCycles < EXPLORE_AFTER_CLEAN_CYCLES) return false;
+        return (cb == cbTarget + 1 && ore == oreTarget) || (cb == cbTarget && ore == oreTarget + 1);
+    }
+
+    private static double smooth(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + ALPHA * (sample - current);
+    }
+
+    private static double valueOr(double value, double fallback) {
+        return Double.isNaN(value) ? fallback : value;
+    }
+}
@@ -0,0 +1,250 @@
+package utils;
+
+import com.osmb.api.location.position.types.WorldPosition;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * tick-synchronised model of the stall guard's patrol
+ * learns the route and per-tile dwell ticks from minimap npc observations, feeds its steps into
+ * the shared tick clock and predicts when the guard reaches a given stretch of the patrol row
+ */
+public class GuardPatrolModel {
+
+    private static final int MS_PER_TICK = TickClock.MS_PER_TICK;
+
+    // npcs outside this box aren't the stall guard
+    private static final int CORRIDOR_MIN_X = 1860;
+    private static final int CORRIDOR_MAX_X = 1872;
+    private static final int CORRIDOR_MIN_Y = 3290;
+    private static final int CORRIDOR_MAX_Y = 3297;
+
+    // guard unseen this long - drop the current track, learned route is kept
+    private static final long LOST_TRACK_MS = 3000;
+
+    // smoothing for dwell ticks
+    private static final double DWELL_ALPHA = 0.3;
+
+    // a route step needs this many dwell samples before predictions use it
+    private static final int MIN_STEP_SAMPLES = 2;
+
+    // longest route we walk forward when predicting (full patrol is well under this)
+    private static final int MAX_LOOKAHEAD_STEPS = 64;
+
+    // observations closer than this are consecutive frames - only those time a step to within a frame
+    private static final long MAX_FRAME_GAP_MS = 250;
+
+    // predictions are pulled in (arrival) or pushed out (clear) by this much before anyone acts on them
+    private static final long PREDICTION_MARGIN_MS = MS_PER_TICK;
+
+    private static final int NO_TILE = -1;
+
+    /**
+     * one step of the route - keyed by (previous tile, tile) so back-and-forth patrols stay unambiguous
+     */
+    private static class Step {
+        int nextTile = NO_TILE;
+        double dwellTicks = 1;
+        int samples = 0;
+    }
+
+    private final Map<Long, Step> steps = new HashMap<>();
+    private final TickClock tickClock;
+
+    // current track
+    private int prevTile = NO_TILE;
+    private int currentTile = NO_TILE;
+    private long arrivedAt = 0;
+    private boolean arrivalObserved = false;
+    private long lastSeenAt = 0;
+    private long lastObservedAt = 0;
+    private long lastTimedStepAt = 0;
+
+    private int observedSteps = 0;
+
+    public GuardPatrolModel(TickClock tickClock) {
+        this.tickClock = tickClock;
+    }
+
+    /**
+     * feed one minimap read - called every frame, and with every npc position list fetched in between
+     * steps are only timed when the previous read was the frame before, so a read after a long wait
+     * never stamps an arrival late
+     */
+    public void observe(List<WorldPosition> npcPositions, long now) {
+        long gap = lastObservedAt == 0 ? Long.MAX_VALUE : now - lastObservedAt;
+        long previousObservation = lastObservedAt;
+        lastObservedAt = now;
+        boolean precise = gap <= MAX_FRAME_GAP_MS;
+
+        int tile = pickGuardTile(npcPositions);
+        if (tile == NO_TILE) {
+            if (currentTile != NO_TILE && now - lastSeenAt > LOST_TRACK_MS) {
+                loseTrack();
+            }
+            return;
+        }
+        lastSeenAt = now;
+        if (tile == currentTile) return;
+
+        if (currentTile != NO_TILE) {
+            if (prevTile != NO_TILE) {
+                Step step = steps.computeIfAbsent(stateKey(prevTile, currentTile), k -> new Step());
+                step.nextTile = tile;
+                // only a single-tile step timed on consecutive frames at both ends gives a clean dwell sample
+                if (arrivalObserved && precise && tileDistance(currentTile, tile) == 1) {
+                    double ticks = Math.max(1, Math.round((now - arrivedAt) / (double) MS_PER_TICK));
+                    step.dwellTicks = step.samples == 0 ? ticks : step.dwellTicks + DWELL_ALPHA * (ticks - step.dwellTicks);
+                    step.samples++;
+                }
+            }
+            if (precise) {
+                tickClock.onNpcStep(now);
+                lastTimedStepAt = now;
+            }
+            observedSteps++;
+            arrivalObserved = precise;
+        } else {
+            // first sighting - we didn't see the guard arrive so its dwell here is unknown
+            arrivalObserved = false;
+        }
+
+        prevTile = currentTile;
+        currentTile = tile;
+        // an imprecise step happened some time after the previous read - assume the earliest, it only makes predictions sooner
+        arrivedAt = precise || previousObservation == 0 ? now : previousObservation;
+    }
+
+    /**
+     * predicted ms until the guard stands on the patrol row at y between minX and maxX, a tick early
+     * @return 0 if already there, -1 if the route ahead isn't learned well enough to predict
+     */
+    public long predictMsUntil(int y, int minX, int maxX, long now) {
+        long ms = predict(y, minX, maxX, now, false);
+        return ms < 0 ? -1 : Math.max(0, ms - PREDICTION_MARGIN_MS);
+    }
+
+    /**
+     * predicted ms until the guard has passed through the range and stepped off it again, a tick late
+     * @return -1 if the route through the range isn't learned well enough to predict
+     */
+    public long predictMsUntilClear(int y, int minX, int maxX, long now) {
+        long ms = predict(y, minX, maxX, now, true);
+        return ms < 0 ? -1 : ms + PREDICTION_MARGIN_MS;
+    }
+
+    /**
+     * ms since the guard was last seen stepping on consecutive frames - how fresh the tick phase is
+     */
+    public long msSinceTimedStep(long now) {
+        return lastTimedStepAt == 0 ? Long.MAX_VALUE : now - lastTimedStepAt;
+    }
+
+    public boolean isTracking() {
+        return currentTile != NO_TILE;
+    }
+
+    public int getLearnedSteps() {
+        return steps.size();
+    }
+
+    public int getObservedSteps() {
+        return observedSteps;
+    }
+
+    /**
+     * one-line summary for logging
+     */
+    public String describe() {
+        return String.format("steps=%d learned=%d phase=%dms conf=%.2f",
+                observedSteps, steps.size(), tickClock.getPhaseMs(), tickClock.getConfidence());
+    }
+
+    // walks the learned route forward from the current tile, until entering the range or until leaving it again
+    private long predict(int y, int minX, int maxX, long now, boolean untilClear) {
+        if (currentTile == NO_TILE || prevTile == NO_TILE || !tickClock.isLocked()) return -1;
+        boolean entered = inRange(currentTile, y, minX, maxX);
+        if (entered && !untilClear) return 0;
+
+        int prev = prevTile;
+        int cur = currentTile;
+        double arrival = arrivedAt;
+
+        for (int i = 0; i < MAX_LOOKAHEAD_STEPS; i++) {
+            Step step = steps.get(stateKey(prev, cur));
+            if (step == null || step.samples < MIN_STEP_SAMPLES || step.nextTile == NO_TILE) return -1;
+
+            double leave = arrival + step.dwellTicks * MS_PER_TICK;
+            if (i == 0 && leave <= now) {
+                // guard overstayed the learned dwell - it can move on the next tick at the earliest
+                leave = now + tickClock.msUntilNextTick(now);
+            }
+            long leaveAligned = tickClock.alignToTick((long) leave);
+
+            prev = cur;
+            cur = step.nextTile;
+            arrival = leaveAligned;
+            boolean inside = inRange(cur, y, minX, maxX);
+            if (untilClear ? entered && !inside : inside) {
+                return Math.max(0, leaveAligned - now);
+            }
+            entered |= inside;
+        }
+        return -1;
+    }
+
+    private void loseTrack() {
+        lastTimedStepAt = 0;
+        prevTile = NO_TILE;
+        currentTile = NO_TILE;
+        arrivedAt = 0;
+        arrivalObserved = false;
+    }
+
+    // guard = plane 0 npc inside the patrol corridor, closest to the current track if several
+    private int pickGuardTile(List<WorldPosition> npcPositions) {
+        int best = NO_TILE;
+        int bestDist = Integer.MAX_VALUE;
+        for (WorldPosition pos : npcPositions) {
+            if (pos == null || pos.getPlane() != 0) continue;
+            int x = (int) pos.getX();
+            int y = (int) pos.getY();
+            if (x < CORRIDOR_MIN_X || x > CORRIDOR_MAX_X || y < CORRIDOR_MIN_Y || y > CORRIDOR_MAX_Y) continue;
+
+            int tile = tileKey(x, y);
+            int dist = currentTile == NO_TILE ? 0 : tileDistance(currentTile, tile);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = tile;
+            }
+        }
+        return best;
+    }
+
+    private static boolean inRange(int tile, int y, int minX, int maxX) {
+        int x = tileX(tile);
+        return tileY(tile) == y && x >= minX && x <= maxX;
+    }
+
+    private static int tileKey(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    private static int tileX(int tile) {
+        return tile >>> 16;
+    }
+
+    private static int tileY(int tile) {
+        return tile & 0xFFFF;
+    }
+
+    private static long stateKey(int prev, int tile) {
+        return ((long) prev << 32) | (tile & 0xFFFFFFFFL);
+    }
+
+    private static int tileDistance(int a, int b) {
+        return Math.max(Math.abs(tileX(a) - tileX(b)), Math.abs(tileY(a) - tileY(b)));
+    }
+}
@@ -2,7 +2,6 @@ package utils;
 
 import com.osmb.api.location.position.types.WorldPosition;
 import com.osmb.api.script.Script;
-import com.osmb.api.shape.Polygon;
 import com.osmb.api.shape.Rectangle;
 import com.osmb.api.utils.UIResultList;
 import com.osmb.api.visual.SearchablePixel;
@@ -17,6 +16,10 @@ import java.util.Random;
 
 import static main.TidalsCannonballThiever.twoStallMode;
 import static main.TidalsCannonballThiever.lastXpGain;
+import static main.TidalsCannonballThiever.tickClock;
+import static main.TidalsCannonballThiever.verboseLogging;
+import static main.TidalsCannonballThiever.currentlyThieving;
+import static main.TidalsCannonballThiever.retreatTracer;
 
 public class GuardTracker {
 
@@ -52,6 +55,9 @@ public class GuardTracker {
             ColorModel.HSL
     );
 
+    // guard cube projections + highlight scans, reused while the camera is still
+    private final ProjectionCache projectionCache;
+
     // movement detection thresholds
     private static final int MOVEMENT_THRESHOLD = 4; // lowered from 10 for instant detection
     private static final int VELOCITY_THRESHOLD = 2; // consecutive frames with rightward movement triggers switch
@@ -69,9 +75,6 @@ public class GuardTracker {
     private Point oreWatchStartCenter = null;
     private long cbWatchStartTime = 0;
     private long oreWatchStartTime = 0;
-    private Point lastGuardCenter = null;
-    private long lastGuardCheckTime = 0;
-    private boolean guardMovingEast = false;
 
     // velocity tracking for instant detection
     private Point cbLastFrameCenter = null;
@@ -90,8 +93,8 @@ public class GuardTracker {
     // xp-based cycle tracking (4 cb -> 2 ore -> repeat)
     private int cbXpDropCount = 0;
     private int oreXpDropCount = 0;
-    private static final int CB_THIEVES_PER_CYCLE = 4;
-    private static final int ORE_THIEVES_PER_CYCLE = 2;
+    // steals per stall each cycle - starts at 4-2, adapted by the planner from measured guard timing
+    private final CyclePlanner cyclePlanner = new CyclePlanner();
     private double lastKnownXpForCycle = -1;
 
     // flag to prevent double-counting when assume + tracker both fire (CB only)
@@ -107,17 +110,67 @@ public class GuardTracker {
     private long preemptiveSwitchDelayMs = 0;
     private static final int PREEMPTIVE_MIN_TICKS = 5;
     private static final int PREEMPTIVE_MAX_TICKS = 8;
-    private static final int MS_PER_TICK = 600;
+    private static final int MS_PER_TICK = TickClock.MS_PER_TICK;
 
     // guard sync: after reset, wait to see guard leave CB stall before starting
     private boolean needsGuardSync = false;
     private boolean sawGuardAtCbStall = false;
+    // skip the visual sync when the patrol model is this sure of the guard's phase
+    private static final double MODEL_SYNC_MIN_CONFIDENCE = 0.8;
+    // tick clock confidence doesn't decay - the model must also have timed a guard step this recently
+    private static final int MODEL_SYNC_MAX_AGE_TICKS = 4;
+    private int modelSyncs = 0;
+    private int visualSyncs = 0;
 
     private static final int CB_STALL_PLAYER_X = 1867;
     private static final int CB_STALL_PLAYER_Y = 3295;
 
+    // patrol model: learned route + tick phase, fed from every minimap read
+    private final GuardPatrolModel patrolModel;
+
+    // measured time between cb steals (ms), used to check a steal fits the predicted window
+    private static final double STEAL_INTERVAL_ALPHA = 0.3;
+    private static final long MAX_STEAL_INTERVAL_MS = 10000; // longer gaps aren't back-to-back steals
+    private static final int MIN_STEAL_INTERVAL_SAMPLES = 2;
+    private double cbStealIntervalMs = 0;
+    private int cbStealIntervalSamples = 0;
+    private long lastCbStealTime = 0;
+
+    // need this much slack after a steal lands to step off the stall before the guard arrives
+    private static final int WINDOW_MARGIN_TICKS = 2;
+    // hard ceiling on cb steals in one cycle, however far the plan or the patrol model stretch it
+    private static final int MAX_CB_STEALS_PER_CYCLE = CyclePlanner.DEFAULT_CB + 2;
+    private int roomLoggedForCount = -1; // only log the extra-steal decision once per steal
+
+    // cb stall counts as blocked while the guard is on these patrol tiles (same zone as isSafeToReturn)
+    private static final int CB_BLOCKED_MIN_X = 1864;
+    // steal interval assumed before any are measured
+    private static final long DEFAULT_STEAL_INTERVAL_MS = 2400;
+
+    // cb blocked prediction, computed at most once per frame (polled from DepositOres.activate)
+    private long frame = 0;
+    private long cbBlockedFrame = -1;
+    private long cbBlockedMs = -1;
+
     public GuardTracker(Script script) {
         this.script = Objects.requireNonNull(script, "script required");
+        this.patrolModel = new GuardPatrolModel(tickClock);
+        this.projectionCache = new ProjectionCache(script, new WorldPosition(CB_STALL_PLAYER_X, CB_STALL_PLAYER_Y, 0), 100);
+    }
+
+    /**
+     * call once per frame in two-stall mode - feeds the patrol model, refreshes the projection cache
+     * and logs pixel work when verbose
+     */
+    public void onNewFrame() {
+        frame++;
+        // keep the patrol model on consecutive frames so its step timing isn't skewed by poll waits
+        findAllNPCPositions();
+        projectionCache.onNewFrame();
+        String report = projectionCache.pollReport();
+        if (report != null && verboseLogging) {
+            script.log("PIXEL", report);
+        }
     }
 
     private long generateRandomDelay() {
@@ -128,7 +181,9 @@ public class GuardTracker {
 
     private long generatePreemptiveSwitchDelay() {
         int ticks = PREEMPTIVE_MIN_TICKS + random.nextInt(PREEMPTIVE_MAX_TICKS - PREEMPTIVE_MIN_TICKS + 1);
-        return ticks * MS_PER_TICK;
+        // count real tick boundaries from now rather than ticks * 600 of wall clock, firing just
+        // before the boundary so the switch tap lands on it - polled from the monitor loop, so no blocking wait
+        return tickClock.msUntilTickInput(ticks, System.currentTimeMillis());
     }
 
     public List<WorldPosition> findAllNPCPositions() {
@@ -136,11 +191,13 @@ public class GuardTracker {
 
         UIResultList<WorldPosition> npcResult = script.getWidgetManager().getMinimap().getNPCPositions();
         if (npcResult == null || !npcResult.isFound()) {
+            patrolModel.observe(npcPositions, System.currentTimeMillis());
             return npcPositions;
         }
 
         npcPositions = new ArrayList<>(npcResult.asList());
         lastNpcPositions = npcPositions;
+        patrolModel.observe(npcPositions, System.currentTimeMillis());
 
         return npcPositions;
     }
@@ -161,6 +218,7 @@ public class GuardTracker {
             if (x == DANGER_X_1 || x == DANGER_X_2) {
                 script.log("GUARD", "IMMEDIATE DANGER! NPC at x=" + x);
                 earlyWarningStartTime = 0;
+                traceRetreatDetection();
                 return true;
             }
 
@@ -173,6 +231,12 @@ public class GuardTracker {
             if (earlyWarningStartTime == 0) {
                 earlyWarningStartTime = System.currentTimeMillis();
                 currentDelayMs = generateRandomDelay();
+                // never wait past the tick the patrol model says the guard reaches the danger tiles
+                long predicted = predictMsUntilCbDanger();
+                if (predicted >= 0) {
+                    long latest = Math.max(0, predicted - (long) WINDOW_MARGIN_TICKS * MS_PER_TICK);
+                    currentDelayMs = Math.min(currentDelayMs, latest);
+                }
                 double delaySec = currentDelayMs / 1000.0;
                 script.log("GUARD", String.format("Early warning - guard at 1865, waiting %.2fs before retreat", delaySec));
             }
@@ -181,6 +245,7 @@ public class GuardTracker {
             if (elapsed >= currentDelayMs) {
                 double actualSec = elapsed / 1000.0;
                 script.log("GUARD", String.format("Early warning expired after %.2fs - retreating!", actualSec));
+                traceRetreatDetection();
                 return true;
             }
         } else {
@@ -193,6 +258,13 @@ public class GuardTracker {
         return false;
     }
 
+    // first danger frame while thieving opens a retreat latency trace
+    private void traceRetreatDetection() {
+        if (!twoStallMode && currentlyThieving && retreatTracer != null) {
+            retreatTracer.onDetected(System.currentTimeMillis());
+        }
+    }
+
     public boolean isSafeToReturn() {
         List<WorldPosition> npcPositions = findAllNPCPositions();
 
@@ -202,7 +274,7 @@ public class GuardTracker {
             int x = (int) npcPos.getX();
             int y = (int) npcPos.getY();
 
-            if (y == PATROL_Y && x >= 1864 && x <= DANGER_X_2) {
+            if (y == PATROL_Y && x >= CB_BLOCKED_MIN_X && x <= DANGER_X_2) {
                 script.log("GUARD", "Not safe yet - NPC at x=" + x + " in patrol zone");
                 return false;
             }
@@ -379,10 +451,7 @@ public class GuardTracker {
     private Point getGuardHighlightCenter(WorldPosition guardPos) {
         if (guardPos == null) return null;
 
-        Polygon tileCube = script.getSceneProjector().getTileCube(guardPos, 100);
-        if (tileCube == null) return null;
-
-        Rectangle bounds = script.getPixelAnalyzer().getHighlightBounds(tileCube, GUARD_HIGHLIGHT);
+        Rectangle bounds = projectionCache.getHighlightBounds(guardPos, GUARD_HIGHLIGHT);
         if (bounds == null) return null;
 
         return bounds.getCenter();
@@ -663,77 +732,9 @@ public class GuardTracker {
         return false;
     }
 
-    public Point updateGuardHighlightPosition() {
-        if (!twoStallMode) return null;
-
-        UIResultList<WorldPosition> npcPositions = script.getWidgetManager().getMinimap().getNPCPositions();
-        if (npcPositions == null || !npcPositions.isFound()) return null;
-
-        for (WorldPosition npcPos : npcPositions) {
-            if (npcPos == null || npcPos.getPlane() != 0) continue;
-
-            int x = (int) npcPos.getX();
-            int y = (int) npcPos.getY();
-
-            if (y < 3291 || y > 3297) continue;
-            if (x < 1863 || x > 1872) continue;
-
-            Point currentCenter = getGuardHighlightCenter(npcPos);
-            if (currentCenter == null) continue;
-
-            if (lastGuardCenter != null) {
-                int dx = currentCenter.x - lastGuardCenter.x;
-                if (Math.abs(dx) > MOVEMENT_THRESHOLD) {
-                    guardMovingEast = dx > 0;
-                }
-            }
-
-            lastGuardCenter = currentCenter;
-            lastGuardCheckTime = System.currentTimeMillis();
-            return currentCenter;
-        }
-
-        return null;
-    }
-
-    public boolean hasGuardStartedMoving() {
-        if (!twoStallMode) return false;
-        if (lastGuardCenter == null) return false;
-
-        Point previousCenter = lastGuardCenter;
-        Point currentCenter = updateGuardHighlightPosition();
-
-        if (currentCenter == null || previousCenter == null) return false;
-
-        int dx = Math.abs(currentCenter.x - previousCenter.x);
-        int dy = Math.abs(currentCenter.y - previousCenter.y);
-
-        if (dx > MOVEMENT_THRESHOLD || dy > MOVEMENT_THRESHOLD) {
-            script.log("GUARD-PIXEL", "Guard MOVED! Distance: " + dx + "x, " + dy + "y pixels");
-            return true;
-        }
-
-        return false;
-    }
-
-    public boolean isGuardMovingAwayFromCannonball() {
-        if (!twoStallMode) return false;
-        updateGuardHighlightPosition();
-        return guardMovingEast;
-    }
-
-    public boolean isGuardMovingTowardCannonball() {
-        if (!twoStallMode) return false;
-        updateGuardHighlightPosition();
-        return !guardMovingEast && lastGuardCenter != null;
-    }
-
     // old oreThiefCount methods removed - now using XP-based tracking only
 
     public void resetGuardTracking() {
-        lastGuardCenter = null;
-        guardMovingEast = false;
-        lastGuardCheckTime = 0;
         watchingAtCBTile = false;
         watchingAtOreTile = false;
         cbWatchStartCenter = null;
@@ -777,7 +778,7 @@ public class GuardTracker {
                 long elapsed = System.currentTimeMillis() - cbAssumeTimestamp;
                 firstCbDropAssumed = false;  // clear flag either way
                 if (elapsed < ASSUME_WINDOW_MS) {
-                    script.log("CYCLE", "CB steal confirmed (already assumed 1/" + CB_THIEVES_PER_CYCLE + ")");
+                    script.log("CYCLE", "CB steal confirmed (already assumed 1/" + cyclePlanner.getCbTarget() + ")");
                     return true;
                 }
                 // outside window - this is a new steal, count it
@@ -785,7 +786,10 @@ public class GuardTracker {
             }
 
             cbXpDropCount++;
-            script.log("CYCLE", "CB steal #" + cbXpDropCount + "/" + CB_THIEVES_PER_CYCLE + " (+" + String.format("%.0f", xpGained) + " XP)");
+            recordCbStealTime();
+            tickClock.onXpDrop(System.currentTimeMillis());
+            cyclePlanner.onSteal(true, System.currentTimeMillis());
+            script.log("CYCLE", "CB steal #" + cbXpDropCount + "/" + cyclePlanner.getCbTarget() + " (+" + String.format("%.0f", xpGained) + " XP)");
             return true;
         }
         return false;
@@ -807,23 +811,28 @@ public class GuardTracker {
         if (currentXp > lastKnownXpForCycle) {
             lastKnownXpForCycle = currentXp;
             oreXpDropCount++;
-            script.log("CYCLE", "Ore steal #" + oreXpDropCount + "/" + ORE_THIEVES_PER_CYCLE);
+            tickClock.onXpDrop(System.currentTimeMillis());
+            cyclePlanner.onSteal(false, System.currentTimeMillis());
+            script.log("CYCLE", "Ore steal #" + oreXpDropCount + "/" + cyclePlanner.getOreTarget());
             return true;
         }
         return false;
     }
     
     public boolean shouldSwitchToOreByXp() {
-        return cbXpDropCount >= CB_THIEVES_PER_CYCLE;
+        if (cbXpDropCount < cyclePlanner.getCbTarget()) return false;
+        // patrol model says the guard is still far enough out - fit another steal in
+        return !hasRoomForAnotherCbSteal();
     }
     
     public boolean shouldSwitchToCbByXp() {
-        return oreXpDropCount >= ORE_THIEVES_PER_CYCLE;
+        return oreXpDropCount >= cyclePlanner.getOreTarget();
     }
     
     public void resetCbCycle() {
         cbXpDropCount = 0;
         firstCbDropAssumed = false;
+        lastCbStealTime = 0;
         script.log("CYCLE", "CB cycle reset - starting fresh");
     }
 
@@ -831,13 +840,13 @@ public class GuardTracker {
     public void assumeFirstCbDrop() {
         // only assume if tracker hasn't already caught it
         if (cbXpDropCount > 0) {
-            script.log("CYCLE", "Skip assume - tracker already caught first CB steal (" + cbXpDropCount + "/" + CB_THIEVES_PER_CYCLE + ")");
+            script.log("CYCLE", "Skip assume - tracker already caught first CB steal (" + cbXpDropCount + "/" + cyclePlanner.getCbTarget() + ")");
             return;
         }
         cbXpDropCount = 1;
         firstCbDropAssumed = true;
         cbAssumeTimestamp = System.currentTimeMillis();
-        script.log("CYCLE", "Assumed first CB steal (1/" + CB_THIEVES_PER_CYCLE + ")");
+        script.log("CYCLE", "Assumed first CB steal (1/" + cyclePlanner.getCbTarget() + ")");
     }
 
     public void resetOreCycle() {
@@ -881,11 +890,138 @@ public class GuardTracker {
         lastXpBasedSwitchTime = 0;
     }
 
-    // guard sync: wait to see guard leave CB stall (1867 → 1868+) before starting
+    public CyclePlanner getCyclePlanner() {
+        return cyclePlanner;
+    }
+
+    // call on a confirmed switch, before the cycle counters reset
+    public void recordSwitchToOre() {
+        int target = cyclePlanner.getCbTarget();
+        cyclePlanner.onSwitch(true, cbXpDropCount, predictCbRoomLeft(), cbXpDropCount < target, System.currentTimeMillis());
+    }
+
+    public void recordSwitchToCannonball() {
+        int cb = cyclePlanner.getCbTarget();
+        int ore = cyclePlanner.getOreTarget();
+        cyclePlanner.onSwitch(false, oreXpDropCount, 0, oreXpDropCount < ore, System.currentTimeMillis());
+        if (cb != cyclePlanner.getCbTarget() || ore != cyclePlanner.getOreTarget()) {
+            script.log("CYCLE", "Cycle plan " + cb + "-" + ore + " -> " + cyclePlanner.describePlan());
+        }
+    }
+
+    public GuardPatrolModel getPatrolModel() {
+        return patrolModel;
+    }
+
+    /**
+     * predicted ms until the guard reaches the cb danger tiles (1866-1867 on the patrol row)
+     * @return 0 if already there, -1 if the patrol model can't predict yet
+     */
+    public long predictMsUntilCbDanger() {
+        return patrolModel.predictMsUntil(PATROL_Y, DANGER_X_1, DANGER_X_2, System.currentTimeMillis());
+    }
+
+    /**
+     * further cb steals the patrol model predicts would still fit before the guard arrives, 0 if unknown
+     * not capped by the plan, so the planner can learn windows longer than its current target
+     */
+    private double predictCbRoomLeft() {
+        if (cbStealIntervalSamples < MIN_STEAL_INTERVAL_SAMPLES) return 0;
+        long window = predictMsUntilCbDanger();
+        if (window < 0) return 0;
+        return Math.max(0, (window - (double) WINDOW_MARGIN_TICKS * MS_PER_TICK) / cbStealIntervalMs);
+    }
+
+    /**
+     * true when the patrol model predicts another cb steal lands with margin to spare
+     * never goes past MAX_CB_STEALS_PER_CYCLE and needs a measured steal interval
+     */
+    public boolean hasRoomForAnotherCbSteal() {
+        if (!twoStallMode) return false;
+        if (cbXpDropCount >= MAX_CB_STEALS_PER_CYCLE) return false;
+        if (cbStealIntervalSamples < MIN_STEAL_INTERVAL_SAMPLES) return false;
+
+        findAllNPCPositions(); // refresh the model with this frame
+        long window = predictMsUntilCbDanger();
+        if (window < 0) return false;
+
+        long needed = (long) cbStealIntervalMs + (long) WINDOW_MARGIN_TICKS * MS_PER_TICK;
+        if (window > needed) {
+            if (roomLoggedForCount == cbXpDropCount) return true;
+            roomLoggedForCount = cbXpDropCount;
+            script.log("PATROL", String.format("Room for steal #%d - guard due in %dms, steal needs %dms (%s)",
+                    cbXpDropCount + 1, window, needed, patrolModel.describe()));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * true when the patrol model predicts the guard reaches the cb stall before we could safely step off
+     */
+    public boolean isCbWindowClosing() {
+        if (!twoStallMode) return false;
+
+        findAllNPCPositions();
+        long window = predictMsUntilCbDanger();
+        if (window < 0) return false;
+
+        if (window <= (long) WINDOW_MARGIN_TICKS * MS_PER_TICK) {
+            script.log("PATROL", "Guard predicted at CB stall in " + window + "ms - switch now! (" + patrolModel.describe() + ")");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * predicted ms the cb stall stays blocked by the guard, counted from now until it has walked past
+     * only answers when the guard is due before another steal could land - otherwise we'd keep thieving anyway
+     * the patrol model is fed by onNewFrame, so this reads it without another minimap scan and reuses
+     * the answer for the rest of the frame
+     * @return -1 if the guard isn't due yet or the patrol model can't predict the pass
+     */
+    public long predictCbBlockedMs() {
+        if (!twoStallMode) return -1;
+
+        if (cbBlockedFrame != frame) {
+            cbBlockedMs = computeCbBlockedMs(System.currentTimeMillis());
+            cbBlockedFrame = frame;
+        }
+        return cbBlockedMs;
+    }
+
+    private long computeCbBlockedMs(long now) {
+        long arrival = patrolModel.predictMsUntil(PATROL_Y, CB_BLOCKED_MIN_X, DANGER_X_2, now);
+        if (arrival < 0) return -1;
+
+        if (arrival > expectedCbStealMs() + (long) WINDOW_MARGIN_TICKS * MS_PER_TICK) return -1;
+
+        return patrolModel.predictMsUntilClear(PATROL_Y, CB_BLOCKED_MIN_X, DANGER_X_2, now);
+    }
+
+    private long expectedCbStealMs() {
+        return cbStealIntervalSamples >= MIN_STEAL_INTERVAL_SAMPLES ? (long) cbStealIntervalMs : DEFAULT_STEAL_INTERVAL_MS;
+    }
+
+    private void recordCbStealTime() {
+        long now = System.currentTimeMillis();
+        if (lastCbStealTime != 0) {
+            long interval = now - lastCbStealTime;
+            if (interval > 0 && interval <= MAX_STEAL_INTERVAL_MS) {
+                cbStealIntervalMs = cbStealIntervalSamples == 0
+                        ? interval
+                        : cbStealIntervalMs + STEAL_INTERVAL_ALPHA * (interval - cbStealIntervalMs);
+                cbStealIntervalSamples++;
+            }
+        }
+        lastCbStealTime = now;
+    }
+
+    // guard sync: resume on a confident patrol prediction, else wait to see guard leave CB stall (1867 → 1868+)
     public void enableGuardSync() {
         needsGuardSync = true;
         sawGuardAtCbStall = false;
-        script.log("SYNC", "Guard sync enabled - waiting to see guard leave CB stall");
+        script.log("SYNC", "Guard sync enabled - waiting for a confident patrol prediction or to see guard leave CB stall");
     }
 
     public void disableGuardSync() {
@@ -903,6 +1039,14 @@ public class GuardTracker {
 
         List<WorldPosition> npcPositions = findAllNPCPositions();
 
+        // model sync: a confident patrol model already knows the guard's phase - go now if a full cb phase fits
+        if (isModelSyncSafe()) {
+            needsGuardSync = false;
+            sawGuardAtCbStall = false;
+            modelSyncs++;
+            return true;
+        }
+
         for (WorldPosition npcPos : npcPositions) {
             if (npcPos == null || npcPos.getPlane() != 0) continue;
 
@@ -921,6 +1065,7 @@ public class GuardTracker {
             // step 2: after seeing guard at stall, wait for them to leave (x >= 1868)
             if (sawGuardAtCbStall && x >= 1868) {
                 script.log("SYNC", "Guard left CB stall (x=" + x + ") - sync complete, GO!");
+                visualSyncs++;
                 needsGuardSync = false;
                 sawGuardAtCbStall = false;
                 return true;
@@ -929,4 +1074,22 @@ public class GuardTracker {
 
         return false;
     }
+
+    // true when the patrol model predicts the cb stall stays clear long enough for the planned cb steals
+    private boolean isModelSyncSafe() {
+        long now = System.currentTimeMillis();
+        if (tickClock.getConfidence() < MODEL_SYNC_MIN_CONFIDENCE) return false;
+        if (patrolModel.msSinceTimedStep(now) > (long) MODEL_SYNC_MAX_AGE_TICKS * MS_PER_TICK) return false;
+
+        long window = patrolModel.predictMsUntil(PATROL_Y, CB_BLOCKED_MIN_X, DANGER_X_2, now);
+        if (window < 0) return false;
+
+        long needed = cyclePlanner.getCbTarget() * expectedCbStealMs() + (long) WINDOW_MARGIN_TICKS * MS_PER_TICK;
+        // within a tick of the limit - not worth skipping the visual sync for
+        if (window < needed + MS_PER_TICK) return false;
+
+        script.log("SYNC", String.format("Model sync - guard due at CB stall in %dms, cycle needs %dms, skipping visual sync (model %d / visual %d) (%s)",
+                window, needed, modelSyncs + 1, visualSyncs, patrolModel.describe()));
+        return true;
+    }
 }
@@ -0,0 +1,106 @@
+package utils;
+
+import com.osmb.api.item.ItemGroupResult;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * inventory diff for tracked loot items
+ * ids, last counts and per-item gp live in arrays built once, and the listener
+ * only fires for items whose count went up
+ */
+public class InventoryDiff {
+
+    /**
+     * receives one call per item whose count increased
+     */
+    public interface Listener {
+        void onGain(int index, int gained, long gp);
+    }
+
+    private final int[] ids;
+    private final int[] lastCounts;
+    private final Set<Integer> idSet;
+
+    // gp per item, swapped in whole when prices finish loading
+    private volatile long[] gpEach;
+
+    public InventoryDiff(int[] ids) {
+        this.ids = ids.clone();
+        this.lastCounts = new int[ids.length];
+        this.gpEach = new long[ids.length];
+
+        Set<Integer> set = new LinkedHashSet<>();
+        for (int id : ids) {
+            set.add(id);
+        }
+        this.idSet = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * tracked ids as a reusable set for inventory searches
+     */
+    public Set<Integer> getIdSet() {
+        return idSet;
+    }
+
+    /**
+     * cache per-item gp from loaded prices - missing prices count as 0
+     */
+    public void cachePrices(Map<Integer, Integer> prices) {
+        long[] gp = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Integer price = prices.get(ids[i]);
+            gp[i] = price != null ? price : 0;
+        }
+        gpEach = gp;
+    }
+
+    /**
+     * take the current counts as the baseline without emitting gains
+     * @return number of tracked item types present
+     */
+    public int snapshot(ItemGroupResult inv) {
+        int present = 0;
+        for (int i = 0; i < ids.length; i++) {
+            lastCounts[i] = inv.getAmount(ids[i]);
+            if (lastCounts[i] > 0) present++;
+        }
+        return present;
+    }
+
+    /**
+     * compare against the last counts, emit gains and store the new counts
+     * decreases (deposits, drops) just move the baseline
+     * @return number of item types that increased
+     */
+    public int diff(ItemGroupResult inv, Listener listener) {
+        long[] gp = gpEach;
+        int changed = 0;
+        for (int i = 0; i < ids.length; i++) {
+            int current = inv.getAmount(ids[i]);
+            int last = lastCounts[i];
+            if (current == last) continue;
+
+            lastCounts[i] = current;
+            if (current > last) {
+                int gained = current - last;
+                changed++;
+                listener.onGain(i, gained, gained * gp[i]);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * forget the baseline - next diff counts everything in the inventory as gained
+     */
+    public void reset() {
+        for (int i = 0; i < lastCounts.length; i++) {
+            lastCounts[i] = 0;
+        }
+    }
+}
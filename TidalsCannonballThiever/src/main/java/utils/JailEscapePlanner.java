@@ -0,0 +1,121 @@
+package utils;
+
+/**
+ * learned cost of each way out of the jail cell
+ * time-to-resume = time in the cell (teleport cast or lock pick attempts, failures included) + walk back to the stall
+ * picks the method with the lowest expected recovery time - every ms in jail is lost gp
+ */
+public class JailEscapePlanner {
+
+    public enum Method { TELEPORT, LOCK_PICK }
+
+    private static final double ALPHA = 0.3;
+
+    // priors until measured
+    private static final double PRIOR_TELEPORT_MS = 4000;
+    private static final double PRIOR_LOCK_PICK_MS = 3500;
+    private static final double PRIOR_TELEPORT_WALK_MS = 12000;
+    private static final double PRIOR_LOCK_PICK_WALK_MS = 16000;
+    // a teleport that never lands costs its timeout before falling back to the lock
+    private static final double TELEPORT_TIMEOUT_MS = 5250;
+
+    // beta prior on success rates, weight in attempts
+    private static final double PRIOR_WEIGHT = 2;
+    private static final double PRIOR_LOCK_PICK_SUCCESS = 0.6;
+    private static final double PRIOR_TELEPORT_SUCCESS = 0.95;
+
+    // once teleports are measured this often, try the lock once so it gets a real number too
+    private static final int EXPLORE_AFTER = 3;
+
+    private double teleportMs = Double.NaN;
+    private int teleportAttempts = 0;
+    private int teleportSuccesses = 0;
+
+    private double lockPickMs = Double.NaN;
+    private int lockPickAttempts = 0;
+    private int lockPickSuccesses = 0;
+
+    private final double[] walkMs = {Double.NaN, Double.NaN};
+    private final double[] resumeMs = {Double.NaN, Double.NaN};
+    private final int[] escapes = new int[2];
+
+    /**
+     * one amulet teleport, from interact to out of the cell (or timeout)
+     */
+    public void onTeleport(long ms, boolean success) {
+        teleportAttempts++;
+        if (success) {
+            teleportSuccesses++;
+            teleportMs = smooth(teleportMs, ms);
+        }
+    }
+
+    /**
+     * one picklock attempt, from tap to result - failures are what make the lock expensive
+     */
+    public void onLockPick(long ms, boolean success) {
+        lockPickAttempts++;
+        if (success) lockPickSuccesses++;
+        lockPickMs = smooth(lockPickMs, ms);
+    }
+
+    /**
+     * walk from wherever the method left us back onto the thieving tile
+     */
+    public void onWalkBack(Method exit, long ms) {
+        walkMs[exit.ordinal()] = smooth(walkMs[exit.ordinal()], ms);
+    }
+
+    /**
+     * caught -> back on the thieving tile, charged to the method we chose
+     */
+    public void onResumed(Method chosen, long ms) {
+        resumeMs[chosen.ordinal()] = smooth(resumeMs[chosen.ordinal()], ms);
+        escapes[chosen.ordinal()]++;
+    }
+
+    public Method choose(boolean amuletAvailable) {
+        if (!amuletAvailable) return Method.LOCK_PICK;
+        if (teleportAttempts == 0) return Method.TELEPORT;
+        if (lockPickAttempts == 0 && teleportAttempts >= EXPLORE_AFTER) return Method.LOCK_PICK;
+        return expectedMs(Method.LOCK_PICK) < expectedMs(Method.TELEPORT) ? Method.LOCK_PICK : Method.TELEPORT;
+    }
+
+    /**
+     * expected caught -> resume ms for a method, failed attempts included
+     */
+    public double expectedMs(Method method) {
+        double lockCell = valueOr(lockPickMs, PRIOR_LOCK_PICK_MS) / lockPickSuccessRate();
+        double lockTotal = lockCell + valueOr(walkMs[Method.LOCK_PICK.ordinal()], PRIOR_LOCK_PICK_WALK_MS);
+        if (method == Method.LOCK_PICK) return lockTotal;
+
+        double success = (teleportSuccesses + PRIOR_TELEPORT_SUCCESS * PRIOR_WEIGHT) / (teleportAttempts + PRIOR_WEIGHT);
+        double landed = valueOr(teleportMs, PRIOR_TELEPORT_MS) + valueOr(walkMs[Method.TELEPORT.ordinal()], PRIOR_TELEPORT_WALK_MS);
+        return success * landed + (1 - success) * (TELEPORT_TIMEOUT_MS + lockTotal);
+    }
+
+    /**
+     * one-line summary for logging
+     */
+    public String describe() {
+        return String.format("teleport ~%.1fs (%d/%d landed, %d escapes, avg %s) | lock ~%.1fs (%d/%d picked, %d escapes, avg %s)",
+                expectedMs(Method.TELEPORT) / 1000.0, teleportSuccesses, teleportAttempts, escapes[0], seconds(resumeMs[0]),
+                expectedMs(Method.LOCK_PICK) / 1000.0, lockPickSuccesses, lockPickAttempts, escapes[1], seconds(resumeMs[1]));
+    }
+
+    private double lockPickSuccessRate() {
+        return (lockPickSuccesses + PRIOR_LOCK_PICK_SUCCESS * PRIOR_WEIGHT) / (lockPickAttempts + PRIOR_WEIGHT);
+    }
+
+    private static String seconds(double ms) {
+        return Double.isNaN(ms) ? "-" : String.format("%.1fs", ms / 1000.0);
+    }
+
+    private static double smooth(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + ALPHA * (sample - current);
+    }
+
+    private static double valueOr(double value, double fallback) {
+        return Double.isNaN(value) ? fallback : value;
+    }
+}
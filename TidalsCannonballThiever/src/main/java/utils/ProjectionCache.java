@@ -0,0 +1,172 @@
+package utils;
+
+import com.osmb.api.location.position.types.WorldPosition;
+import com.osmb.api.script.Script;
+import com.osmb.api.shape.Polygon;
+import com.osmb.api.shape.Rectangle;
+import com.osmb.api.visual.SearchablePixel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * caches tile cube projections per (tile, camera state) and highlight scans per frame
+ * camera state is the projected bounds of a fixed anchor tile - while we stand still thieving
+ * it doesn't change, so guard tile cubes are projected once instead of on every monitored frame
+ * also counts projections, highlight scans and scan time per frame for the pixel work report
+ */
+public class ProjectionCache {
+
+    private static final long REPORT_INTERVAL_MS = 10_000;
+
+    private final Script script;
+    private final WorldPosition anchor;
+    private final int cubeHeight;
+
+    private final Map<Integer, Polygon> cubes = new HashMap<>();
+    private final Map<Integer, Rectangle> frameHighlights = new HashMap<>();
+    private final Map<Integer, Boolean> frameHighlightMisses = new HashMap<>();
+    private long cameraKey = Long.MIN_VALUE;
+    private boolean cameraStable = false;
+
+    // current frame counters
+    private int frameScans = 0;
+    private long frameScanNanos = 0;
+
+    // totals since last report
+    private long frames = 0;
+    private long projections = 0;
+    private long cacheHits = 0;
+    private long scans = 0;
+    private long scanNanos = 0;
+    private int peakScans = 0;
+    private long peakScanNanos = 0;
+    private long lastReportTime = System.currentTimeMillis();
+
+    public ProjectionCache(Script script, WorldPosition anchor, int cubeHeight) {
+        this.script = script;
+        this.anchor = anchor;
+        this.cubeHeight = cubeHeight;
+    }
+
+    /**
+     * call once per frame - closes the previous frame's counters and re-checks the camera
+     */
+    public void onNewFrame() {
+        frames++;
+        peakScans = Math.max(peakScans, frameScans);
+        peakScanNanos = Math.max(peakScanNanos, frameScanNanos);
+        frameScans = 0;
+        frameScanNanos = 0;
+        frameHighlights.clear();
+        frameHighlightMisses.clear();
+
+        // one anchor projection decides whether every cached cube is still valid
+        Polygon anchorCube = project(anchor);
+        if (anchorCube == null) {
+            cameraStable = false;
+            cubes.clear();
+            return;
+        }
+        long key = cameraKey(anchorCube);
+        cameraStable = key == cameraKey;
+        if (!cameraStable) {
+            cubes.clear();
+            cameraKey = key;
+        }
+    }
+
+    /**
+     * tile cube for a tile - reused while the camera hasn't moved
+     */
+    public Polygon getTileCube(WorldPosition pos) {
+        if (pos == null) return null;
+        int key = tileKey(pos);
+        if (cameraStable) {
+            Polygon cached = cubes.get(key);
+            if (cached != null) {
+                cacheHits++;
+                return cached;
+            }
+        }
+        Polygon cube = project(pos);
+        if (cube != null && cameraStable) {
+            cubes.put(key, cube);
+        }
+        return cube;
+    }
+
+    /**
+     * highlight bounds inside a tile's cube - scanned at most once per tile per frame
+     */
+    public Rectangle getHighlightBounds(WorldPosition pos, SearchablePixel highlight) {
+        if (pos == null) return null;
+        int key = tileKey(pos);
+        Rectangle memo = frameHighlights.get(key);
+        if (memo != null) return memo;
+        if (frameHighlightMisses.containsKey(key)) return null;
+
+        Polygon cube = getTileCube(pos);
+        if (cube == null) return null;
+
+        long start = System.nanoTime();
+        Rectangle bounds = script.getPixelAnalyzer().getHighlightBounds(cube, highlight);
+        long elapsed = System.nanoTime() - start;
+        frameScans++;
+        frameScanNanos += elapsed;
+        scans++;
+        scanNanos += elapsed;
+
+        if (bounds == null) {
+            frameHighlightMisses.put(key, Boolean.TRUE);
+        } else {
+            frameHighlights.put(key, bounds);
+        }
+        return bounds;
+    }
+
+    /**
+     * per-frame pixel work summary, or null until the report interval has passed
+     * resets the totals when a report is produced
+     */
+    public String pollReport() {
+        long now = System.currentTimeMillis();
+        if (now - lastReportTime < REPORT_INTERVAL_MS || frames == 0) return null;
+
+        long lookups = projections + cacheHits;
+        String report = String.format(
+                "frames=%d scans/frame=%.2f (peak %d) scan ms/frame=%.2f (peak %.2f) projections/frame=%.2f cube hit rate=%.0f%%",
+                frames, scans / (double) frames, peakScans,
+                scanNanos / 1e6 / frames, peakScanNanos / 1e6,
+                projections / (double) frames,
+                lookups == 0 ? 0.0 : cacheHits * 100.0 / lookups);
+
+        frames = 0;
+        projections = 0;
+        cacheHits = 0;
+        scans = 0;
+        scanNanos = 0;
+        peakScans = 0;
+        peakScanNanos = 0;
+        lastReportTime = now;
+        return report;
+    }
+
+    /**
+     * camera state key - the packed screen bounds of a fixed anchor tile's projection
+     */
+    public static long cameraKey(Polygon anchorCube) {
+        Rectangle bounds = anchorCube.getBounds();
+        return ((long) (bounds.x & 0xFFFF) << 48) | ((long) (bounds.y & 0xFFFF) << 32)
+                | ((long) (bounds.width & 0xFFFF) << 16) | (bounds.height & 0xFFFF);
+    }
+
+    private Polygon project(WorldPosition pos) {
+        projections++;
+        return script.getSceneProjector().getTileCube(pos, cubeHeight);
+    }
+
+    private static int tileKey(WorldPosition pos) {
+        return ((int) pos.getX() << 16) | ((int) pos.getY() & 0xFFFF);
+    }
+}
@@ -0,0 +1,183 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * end-to-end latency traces for single-stall retreats
+ * detection (guard danger seen) -> decision (monitor exits) -> tap (retreat tapped) -> arrival (on safety tile)
+ * keeps completed traces for percentiles and correlates jails with the trace that preceded them
+ */
+public class RetreatTracer {
+
+    private static final int CAPACITY = 1000;
+
+    // a trace that hasn't arrived by now is abandoned (walker fallback, jailed, break)
+    private static final long TRACE_TIMEOUT_MS = 15_000;
+
+    // a jail this soon after a completed retreat is charged to that retreat
+    private static final long JAIL_ATTRIBUTION_MS = 20_000;
+
+    // stage indices
+    private static final int DECISION = 0;
+    private static final int TAP = 1;
+    private static final int ARRIVAL = 2;
+    private static final int TOTAL = 3;
+    private static final String[] STAGE_NAMES = {"detect->decide", "decide->tap", "tap->arrive", "total"};
+
+    // ring buffer of completed traces, ms per stage
+    private final int[][] samples = new int[4][CAPACITY];
+    private final boolean[] jailed = new boolean[CAPACITY];
+    private int count = 0;
+    private int next = 0;
+
+    // open trace timestamps (0 = not reached)
+    private long detectedAt = 0;
+    private long decidedAt = 0;
+    private long tappedAt = 0;
+
+    // last completed trace, for jail attribution
+    private int lastIndex = -1;
+    private long lastArrivedAt = 0;
+
+    private int abandoned = 0;
+    private int jailsTotal = 0;
+    private int jailsDuringRetreat = 0;
+
+    // cached percentiles of total latency, recomputed when a trace completes
+    private int p50 = 0;
+    private int p90 = 0;
+    private int p99 = 0;
+
+    public void onDetected(long now) {
+        expire(now);
+        if (detectedAt == 0) {
+            detectedAt = now;
+        }
+    }
+
+    public void onDecision(long now) {
+        if (detectedAt == 0) detectedAt = now; // monitor saw it before anything else did
+        if (decidedAt == 0) decidedAt = now;
+    }
+
+    public void onTap(long now) {
+        if (detectedAt == 0) return;
+        if (decidedAt == 0) decidedAt = now;
+        if (tappedAt == 0) tappedAt = now;
+    }
+
+    public void onArrived(long now) {
+        if (detectedAt == 0) return;
+        if (decidedAt == 0) decidedAt = now;
+        if (tappedAt == 0) tappedAt = now;
+
+        int i = next;
+        samples[DECISION][i] = (int) (decidedAt - detectedAt);
+        samples[TAP][i] = (int) (tappedAt - decidedAt);
+        samples[ARRIVAL][i] = (int) (now - tappedAt);
+        samples[TOTAL][i] = (int) (now - detectedAt);
+        jailed[i] = false;
+
+        lastIndex = i;
+        lastArrivedAt = now;
+        next = (next + 1) % CAPACITY;
+        count = Math.min(count + 1, CAPACITY);
+        clearOpen();
+        recomputePercentiles();
+    }
+
+    /**
+     * caught by the guard - charged to the open retreat or the one that just finished
+     */
+    public void onJailed(long now) {
+        jailsTotal++;
+        if (detectedAt != 0) {
+            jailsDuringRetreat++;
+            abandoned++;
+            clearOpen();
+            return;
+        }
+        if (lastIndex >= 0 && now - lastArrivedAt <= JAIL_ATTRIBUTION_MS) {
+            jailed[lastIndex] = true;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * total latency percentiles for the paint, e.g. "640/910/1300ms"
+     */
+    public String describePercentiles() {
+        return p50 + "/" + p90 + "/" + p99 + "ms";
+    }
+
+    /**
+     * multi-line session report: per-stage percentiles and jail correlation with the slow tail
+     */
+    public String describeReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Retreats: ").append(count).append(" traced, ").append(abandoned).append(" abandoned");
+        if (count == 0) return sb.toString();
+
+        for (int stage = 0; stage < STAGE_NAMES.length; stage++) {
+            int[] sorted = sorted(stage);
+            sb.append("\n  ").append(STAGE_NAMES[stage])
+                    .append(": p50=").append(percentile(sorted, 50))
+                    .append(" p90=").append(percentile(sorted, 90))
+                    .append(" p99=").append(percentile(sorted, 99))
+                    .append(" max=").append(sorted[sorted.length - 1]).append("ms");
+        }
+
+        int slowTail = 0;
+        int slowJailed = 0;
+        int fastJailed = 0;
+        for (int i = 0; i < count; i++) {
+            boolean slow = samples[TOTAL][i] >= p90;
+            if (slow) slowTail++;
+            if (jailed[i]) {
+                if (slow) slowJailed++;
+                else fastJailed++;
+            }
+        }
+        sb.append("\n  jails: ").append(jailsTotal).append(" total, ")
+                .append(jailsDuringRetreat).append(" mid-retreat, ")
+                .append(slowJailed).append("/").append(slowTail).append(" after slow retreats (>=p90), ")
+                .append(fastJailed).append("/").append(count - slowTail).append(" after faster ones");
+        return sb.toString();
+    }
+
+    private void expire(long now) {
+        if (detectedAt != 0 && now - detectedAt > TRACE_TIMEOUT_MS) {
+            abandoned++;
+            clearOpen();
+        }
+    }
+
+    private void clearOpen() {
+        detectedAt = 0;
+        decidedAt = 0;
+        tappedAt = 0;
+    }
+
+    private void recomputePercentiles() {
+        int[] sorted = sorted(TOTAL);
+        p50 = percentile(sorted, 50);
+        p90 = percentile(sorted, 90);
+        p99 = percentile(sorted, 99);
+    }
+
+    private int[] sorted(int stage) {
+        int[] copy = Arrays.copyOf(samples[stage], count);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    // nearest-rank percentile
+    private static int percentile(int[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
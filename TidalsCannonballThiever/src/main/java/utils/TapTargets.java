@@ -0,0 +1,107 @@
+package utils;
+
+import com.osmb.api.location.position.types.WorldPosition;
+import com.osmb.api.scene.RSObject;
+import com.osmb.api.script.Script;
+import com.osmb.api.shape.Polygon;
+
+import static main.TidalsCannonballThiever.SAFETY_TILE_SINGLE;
+import static main.TidalsCannonballThiever.THIEVING_TILE_TWO_STALL;
+
+/**
+ * pre-projected tap polygons for the fixed stall objects and tiles
+ * refreshed once the camera has been still for a frame, so retreat and stall switches can tap
+ * straight away instead of resolving objects and projecting tiles at the moment of danger
+ * any getter returns null while the camera is moving - callers fall back to a live lookup
+ */
+public class TapTargets {
+
+    private static final String CANNONBALL_STALL = "Cannonball stall";
+    private static final String ORE_STALL = "Ore stall";
+
+    private final Script script;
+
+    private long cameraKey = Long.MIN_VALUE;
+    private boolean ready = false;
+
+    private Polygon cannonballStall;
+    private Polygon oreStall;
+    private Polygon safetyTile;
+    private Polygon twoStallTile;
+
+    public TapTargets(Script script) {
+        this.script = script;
+    }
+
+    /**
+     * call once per frame - targets are rebuilt on the first still frame after the camera moves
+     */
+    public void onNewFrame() {
+        WorldPosition myPos = script.getWorldPosition();
+        Polygon anchor = myPos != null ? script.getSceneProjector().getTileCube(SAFETY_TILE_SINGLE, 0) : null;
+        if (anchor == null) {
+            invalidate();
+            return;
+        }
+
+        long key = ProjectionCache.cameraKey(anchor);
+        if (key != cameraKey) {
+            // camera moved this frame - wait for it to settle before projecting
+            cameraKey = key;
+            clearTargets();
+            return;
+        }
+        if (ready) return;
+
+        cannonballStall = hullOf(myPos, CANNONBALL_STALL);
+        oreStall = hullOf(myPos, ORE_STALL);
+        safetyTile = anchor;
+        twoStallTile = script.getSceneProjector().getTileCube(THIEVING_TILE_TWO_STALL, 0);
+        ready = true;
+    }
+
+    public void invalidate() {
+        cameraKey = Long.MIN_VALUE;
+        clearTargets();
+    }
+
+    public Polygon getCannonballStall() {
+        return ready ? cannonballStall : null;
+    }
+
+    public Polygon getOreStall() {
+        return ready ? oreStall : null;
+    }
+
+    public Polygon getSafetyTile() {
+        return ready ? safetyTile : null;
+    }
+
+    private Polygon getTwoStallTile() {
+        return ready ? twoStallTile : null;
+    }
+
+    /**
+     * pre-projected cube for the given tile, null if it isn't one of the cached tiles
+     */
+    public Polygon getTileCube(WorldPosition tile) {
+        if (SAFETY_TILE_SINGLE.equals(tile)) return getSafetyTile();
+        if (THIEVING_TILE_TWO_STALL.equals(tile)) return getTwoStallTile();
+        return null;
+    }
+
+    private void clearTargets() {
+        ready = false;
+        cannonballStall = null;
+        oreStall = null;
+        safetyTile = null;
+        twoStallTile = null;
+    }
+
+    private Polygon hullOf(WorldPosition myPos, String name) {
+        RSObject object = script.getObjectManager().getClosestObject(myPos, name);
+        if (object == null) return null;
+        Polygon hull = object.getConvexHull();
+        return hull != null && hull.numVertices() > 0 ? hull : null;
+    }
+}
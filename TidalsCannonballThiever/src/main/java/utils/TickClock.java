@@ -0,0 +1,144 @@
+package utils;
+
+import com.osmb.api.script.Script;
+import com.osmb.api.utils.RandomUtils;
+
+/**
+ * estimates the phase of the 600ms server tick from discrete events we already observe
+ * (inventory count changes, xp drops, minimap npc steps) - each lands just after a tick boundary
+ * lets waits end right before a tick instead of over-waiting into the next one
+ */
+public class TickClock {
+
+    public static final int MS_PER_TICK = 600;
+
+    // smoothing for the phase vector (higher = adapts faster, noisier)
+    private static final double PHASE_ALPHA = 0.15;
+
+    // events closer than this are the same frame - counted once
+    private static final long SAME_FRAME_MS = 50;
+
+    // phase vector length needed before the estimate is trusted (0-1)
+    private static final double MIN_CONFIDENCE = 0.6;
+
+    // act this long before the estimated boundary so the input still lands on that tick
+    private static final long LEAD_MS = 60;
+
+    // tick waits end at a random point up to this far before the lead - the input still lands on the same tick
+    private static final int WAIT_JITTER_MS = 150;
+
+    // ewma unit vector over (event time mod 600)
+    private double phaseCos = 0;
+    private double phaseSin = 0;
+    private long lastEventTime = 0;
+
+    private int inventoryEvents = 0;
+    private int xpEvents = 0;
+    private int npcEvents = 0;
+
+    public void onInventoryChange(long now) {
+        if (sample(now)) inventoryEvents++;
+    }
+
+    public void onXpDrop(long now) {
+        if (sample(now)) xpEvents++;
+    }
+
+    public void onNpcStep(long now) {
+        if (sample(now)) npcEvents++;
+    }
+
+    /**
+     * true once observed events agree on a tick phase
+     */
+    public boolean isLocked() {
+        return getConfidence() >= MIN_CONFIDENCE;
+    }
+
+    /**
+     * length of the phase vector (0 = no idea, 1 = every event on the same offset)
+     */
+    public double getConfidence() {
+        return Math.sqrt(phaseCos * phaseCos + phaseSin * phaseSin);
+    }
+
+    /**
+     * estimated tick boundary offset within System.currentTimeMillis() mod 600
+     */
+    public long getPhaseMs() {
+        double angle = Math.atan2(phaseSin, phaseCos);
+        if (angle < 0) angle += 2 * Math.PI;
+        return Math.round(angle / (2 * Math.PI) * MS_PER_TICK) % MS_PER_TICK;
+    }
+
+    /**
+     * ms until the next tick boundary (a full tick if the phase isn't locked)
+     */
+    public long msUntilNextTick(long now) {
+        if (!isLocked()) return MS_PER_TICK;
+        long offset = Math.floorMod(now - getPhaseMs(), (long) MS_PER_TICK);
+        return MS_PER_TICK - offset;
+    }
+
+    /**
+     * ms until n tick boundaries from now - n * 600 if the phase isn't locked
+     */
+    public long msUntilTick(int ticks, long now) {
+        if (ticks <= 0) return 0;
+        if (!isLocked()) return (long) ticks * MS_PER_TICK;
+        return msUntilNextTick(now) + (long) (ticks - 1) * MS_PER_TICK;
+    }
+
+    /**
+     * snap a time to the nearest tick boundary (unchanged if the phase isn't locked)
+     */
+    public long alignToTick(long time) {
+        if (!isLocked()) return time;
+        long offset = Math.floorMod(time - getPhaseMs(), (long) MS_PER_TICK);
+        return offset < MS_PER_TICK / 2 ? time - offset : time + (MS_PER_TICK - offset);
+    }
+
+    /**
+     * ms until just before the nth tick boundary - an input sent then is processed on that boundary
+     * n * 600 if the phase isn't locked
+     */
+    public long msUntilTickInput(int ticks, long now) {
+        if (!isLocked()) return msUntilTick(ticks, now);
+        return Math.max(0, msUntilTick(ticks, now) - LEAD_MS);
+    }
+
+    /**
+     * wait until just before the nth tick boundary from now, ending at a random point inside the
+     * jitter window so aligned waits don't all end on the same ms
+     * @return true if the wait ran to the boundary, false if interrupted early
+     */
+    public boolean waitForTick(Script script, int ticks) {
+        long now = System.currentTimeMillis();
+        long waitMs = msUntilTickInput(ticks, now);
+        if (waitMs > 1) {
+            waitMs -= RandomUtils.uniformRandom(0, (int) Math.min(WAIT_JITTER_MS, waitMs - 1));
+        }
+        if (waitMs <= 0) return true;
+        long deadline = now + waitMs;
+        script.pollFramesUntil(() -> System.currentTimeMillis() >= deadline, (int) waitMs + MS_PER_TICK);
+        return System.currentTimeMillis() >= deadline;
+    }
+
+    /**
+     * one-line summary for logging
+     */
+    public String describe() {
+        return String.format("phase=%dms conf=%.2f inv=%d xp=%d npc=%d",
+                getPhaseMs(), getConfidence(), inventoryEvents, xpEvents, npcEvents);
+    }
+
+    private boolean sample(long now) {
+        if (lastEventTime != 0 && now - lastEventTime < SAME_FRAME_MS) return false;
+        lastEventTime = now;
+
+        double angle = 2 * Math.PI * Math.floorMod(now, (long) MS_PER_TICK) / MS_PER_TICK;
+        phaseCos += PHASE_ALPHA * (Math.cos(angle) - phaseCos);
+        phaseSin += PHASE_ALPHA * (Math.sin(angle) - phaseSin);
+        return true;
+    }
+}
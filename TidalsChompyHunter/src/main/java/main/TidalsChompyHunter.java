@@ -22,7 +22,11 @@ import tasks.HopWorld;
 import tasks.InflateToads;
 import tasks.Setup;
 import utilities.FreeTelemetrySupport;
+import utils.AmmoModel;
+import utils.EquipmentFingerprint;
+import utils.HopRecoveryTimer;
 import utils.Task;
+import utils.ToadLifecycle;
 
 import javax.imageio.ImageIO;
 import java.io.BufferedReader;
@@ -87,6 +91,15 @@ public class TidalsChompyHunter extends Script {
     private long ammoOverlayMissingStart = 0;  // track when overlay went missing
     private boolean overlayVerificationPending = false;  // true when we need to verify via equipment tab
 
+    // predicted arrow count - fed by attacks/kills, reconciled from overlay and equipment tab reads
+    public static final AmmoModel ammoModel = new AmmoModel();
+
+    // loadout validated by Setup - post-hop setups trust it unless a cheap check fails
+    public static volatile EquipmentFingerprint equipmentFingerprint = null;
+
+    // hop-to-first-attack timing
+    public static final HopRecoveryTimer hopTimer = new HopRecoveryTimer();
+
     // valid arrow item ids (for equipment tab verification)
     private static final int[] VALID_ARROWS = {
         2866,  // OGRE_ARROW
@@ -107,6 +120,35 @@ public class TidalsChompyHunter extends Script {
     public static java.util.Map<WorldPosition, Long> droppedToadPositions = new java.util.concurrent.ConcurrentHashMap<>();
     private static final long TOAD_TIMEOUT_MS = 60_000;  // 60 seconds max lifetime
 
+    // per-toad confidence model - decides when tracked toads actually need visual verification
+    public static final ToadLifecycle toadLifecycle = new ToadLifecycle();
+
+    /**
+     * start tracking a dropped toad
+     * @param confirmed true if the drop was confirmed via menu entry
+     */
+    public static void trackDroppedToad(WorldPosition pos, boolean confirmed) {
+        droppedToadPositions.put(pos, System.currentTimeMillis());
+        toadLifecycle.onDropped(pos, confirmed);
+        lastToadPresentTime = System.currentTimeMillis();
+    }
+
+    /**
+     * stop tracking a toad (eaten, expired or not found)
+     */
+    public static void untrackToad(WorldPosition pos) {
+        droppedToadPositions.remove(pos);
+        toadLifecycle.forget(pos);
+    }
+
+    /**
+     * clear all tracked toads (world change / fresh setup)
+     */
+    public static void clearTrackedToads() {
+        droppedToadPositions.clear();
+        toadLifecycle.clear();
+    }
+
     // track chompy corpse positions (cleared when plucked or despawned)
     public static List<WorldPosition> corpsePositions = new ArrayList<>();
 
@@ -197,6 +239,7 @@ public class TidalsChompyHunter extends Script {
             long age = now - entry.getValue();
             if (age > TOAD_TIMEOUT_MS) {
                 log(getClass(), "removing stale toad at " + entry.getKey() + " (age: " + (age / 1000) + "s)");
+                toadLifecycle.forget(entry.getKey());
                 return true;
             }
             return false;
@@ -306,7 +349,7 @@ public class TidalsChompyHunter extends Script {
             task = "waiting for chompies...";
         }
 
-        // update ammo count via BuffOverlay (lightweight, no tab switching)
+        // update ammo count from the model, reading the BuffOverlay only while arrows may be changing
         if (setupComplete) {
             updateAmmoFromOverlay();
         }
@@ -618,8 +661,9 @@ public class TidalsChompyHunter extends Script {
     }
 
     /**
-     * update ammo count from BuffOverlay (lightweight, no tab switching)
-     * when overlay is missing for 10+ seconds, triggers equipment tab verification
+     * update ammo count from the prediction model, reconciling from BuffOverlay while arrows may be changing
+     * outside combat and the settle window the overlay text isn't parsed, the model estimate is used instead
+     * when overlay is missing for 10+ seconds and the model can't be trusted, triggers equipment tab verification
      */
     private void updateAmmoFromOverlay() {
         // initialize overlay if we have arrow ID but no overlay yet
@@ -638,6 +682,12 @@ public class TidalsChompyHunter extends Script {
             ammoOverlayMissingStart = 0;
             overlayVerificationPending = false;
 
+            // nothing fired recently - count can't have moved, skip parsing the overlay text
+            if (!ammoModel.isSettling(AttackChompy.inCombat)) {
+                syncArrowCountFromModel();
+                return;
+            }
+
             // parse ammo count from overlay text
             String buffText = ammoOverlay.getBuffText();
             if (buffText != null && !buffText.isEmpty()) {
@@ -645,6 +695,7 @@ public class TidalsChompyHunter extends Script {
                     String digits = buffText.replaceAll("\\D", "");
                     if (!digits.isEmpty()) {
                         int count = Integer.parseInt(digits);
+                        ammoModel.reconcile(count);
                         if (count != currentArrowCount) {
                             currentArrowCount = count;
                             // only log significant changes to reduce spam
@@ -658,21 +709,36 @@ public class TidalsChompyHunter extends Script {
                 }
             }
         } else {
-            // overlay not visible - start tracking missing time
+            // overlay not visible - fall back to the prediction
+            syncArrowCountFromModel();
+
+            // start tracking missing time
             if (ammoOverlayMissingStart == 0) {
                 ammoOverlayMissingStart = System.currentTimeMillis();
                 log(getClass(), "[debug] overlay not visible for equipped ID: " + equippedArrowId);
             }
 
-            // if missing for 10+ seconds, flag for verification (don't assume out of ammo)
+            // if missing for 10+ seconds and the prediction is too uncertain (or near empty),
+            // flag for verification (don't assume out of ammo)
             long missingTime = System.currentTimeMillis() - ammoOverlayMissingStart;
-            if (missingTime > 10000 && !overlayVerificationPending) {
-                log(getClass(), "ammo overlay missing for 10+ seconds - will verify via equipment tab");
+            if (missingTime > 10000 && !overlayVerificationPending && ammoModel.needsExactRead()) {
+                log(getClass(), "ammo overlay missing for 10+ seconds (predicted " + ammoModel.getEstimate() +
+                        " +/- " + String.format("%.1f", ammoModel.getUncertainty()) + ") - will verify via equipment tab");
                 overlayVerificationPending = true;
             }
         }
     }
 
+    /**
+     * copy the model's estimate into currentArrowCount - keeps the last count while the model is unknown
+     */
+    private void syncArrowCountFromModel() {
+        int estimate = ammoModel.getEstimate();
+        if (estimate >= 0) {
+            currentArrowCount = estimate;
+        }
+    }
+
     /**
      * verify ammo count by checking equipment tab directly
      * called when overlay has been missing and we need to confirm actual arrow count
@@ -691,6 +757,10 @@ public class TidalsChompyHunter extends Script {
         if (arrowCheck == null || !arrowCheck.isFound()) {
             // no arrows found in equipment slot - confirmed out of ammo
             log(getClass(), "VERIFIED: no arrows in equipment slot - out of ammo");
+            currentArrowCount = 0;
+            ammoModel.reconcile(0);
+            ammoOverlayMissingStart = 0;
+            overlayVerificationPending = false;
             return true;  // verification complete, no arrows
         }
 
@@ -705,6 +775,7 @@ public class TidalsChompyHunter extends Script {
 
         // update tracking with verified count
         currentArrowCount = verifiedCount;
+        ammoModel.reconcile(verifiedCount);
 
         // reset overlay tracking since we just verified
         ammoOverlayMissingStart = 0;
@@ -802,8 +873,8 @@ public class TidalsChompyHunter extends Script {
         ensureLogoLoaded();
         int logoHeight = (logoImage != null) ? logoImage.height + logoBottomGap : 0;
 
-        // calculate height: runtime, kills, total, next, arrows, can hop, separator, status, separator, version
-        int totalLines = 8;
+        // calculate height: runtime, kills, total, next, arrows, can hop, hop recovery, separator, status, separator, version
+        int totalLines = 9;
         int contentHeight = topGap + logoHeight + (totalLines * lineGap) + 24 + 20;
         int innerHeight = Math.max(200, contentHeight);
 
@@ -865,6 +936,13 @@ public class TidalsChompyHunter extends Script {
         String canHopText = canHop ? "Yes" : "No (" + droppedToadPositions.size() + " toads)";
         int canHopColor = canHop ? new Color(100, 255, 100).getRGB() : new Color(255, 100, 100).getRGB();
         drawStatLine(c, innerX, innerWidth, paddingX, curY, "Can hop", canHopText, textMuted.getRGB(), canHopColor);
+        curY += lineGap;
+
+        // hop recovery - last and average hop-to-first-attack time
+        String hopText = hopTimer.getCompleted() == 0
+            ? "-"
+            : String.format("%.1fs (avg %.1fs)", hopTimer.getLastTotalMs() / 1000.0, hopTimer.getAverageTotalMs() / 1000.0);
+        drawStatLine(c, innerX, innerWidth, paddingX, curY, "Hop recovery", hopText, textMuted.getRGB(), textMuted.getRGB());
 
         // separator before status
         curY += lineGap - 4;
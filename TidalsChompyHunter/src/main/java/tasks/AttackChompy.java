@@ -19,6 +19,7 @@ import com.osmb.api.visual.color.tolerance.impl.SingleThresholdComparator;
 import main.TidalsChompyHunter;
 import utils.SpawnedChompy;
 import utils.Task;
+import utils.ToadLifecycle;
 
 import java.awt.Point;
 import java.util.ArrayList;
@@ -61,15 +62,6 @@ public class AttackChompy extends Task {
     private static final int BLOATED_BOUNDED_MAX_DISTANCE = 20;
     private static final int BLOATED_BOUNDED_MIN_SIZE = 3;
 
-    // dead chompy verification within tileCube bounds - for verifying corpses at ignored positions
-    private static final SearchablePixel DEAD_CHOMPY_BOUNDED = new SearchablePixel(
-            -2500192,  // RGB int from user testing
-            new SingleThresholdComparator(10),  // tolerance 10
-            ColorModel.RGB
-    );
-    private static final int DEAD_CHOMPY_BOUNDED_MAX_DISTANCE = 10;
-    private static final int DEAD_CHOMPY_BOUNDED_MIN_SIZE = 3;
-
     // area where we can reliably verify tracked positions (toads/corpses visible on screen)
     // when outside this area (e.g., at swamp bubbles), UI/camera blocks the drop area
     // verification would incorrectly remove positions we can't see
@@ -169,20 +161,6 @@ public class AttackChompy extends Task {
         return (pos.getPlane() << 30) | ((pos.getY() & 0x7FFF) << 15) | (pos.getX() & 0x7FFF);
     }
 
-    /**
-     * check if a position is in the ignored list (known corpse)
-     */
-    public static boolean isPositionIgnored(int posKey) {
-        return ignoredPositionTimestamps.containsKey(posKey);
-    }
-
-    /**
-     * remove a position from the ignored list (corpse despawned)
-     */
-    public static void removeIgnoredPosition(int posKey) {
-        ignoredPositionTimestamps.remove(posKey);
-    }
-
     /**
      * add a position to the ignored list (called when we detect someone else's chompy)
      * prevents us from trying to attack or pluck a chompy that isn't ours
@@ -476,6 +454,11 @@ public class AttackChompy extends Task {
         }
 
         // attack sent - transition to combat confirmation
+        TidalsChompyHunter.ammoModel.onAttack();
+        String hopBreakdown = TidalsChompyHunter.hopTimer.firstAttack();
+        if (hopBreakdown != null) {
+            script.log(getClass(), "[attacking] first attack after hop - " + hopBreakdown);
+        }
         inCombat = true;
         combatStartTime = System.currentTimeMillis();
         healthOverlay = new HealthOverlay(script);
@@ -582,14 +565,19 @@ public class AttackChompy extends Task {
             trackedChompies.add(new SpawnedChompy(pos));
             script.log(getClass(), "tracking chompy at " + pos + " (" + trackedChompies.size() + " total)");
 
-            // verify all tracked toad positions - remove any that are gone
+            // chompy spawned by eating a toad - lowers confidence of toads near the spawn
+            TidalsChompyHunter.toadLifecycle.onChompySpawn(pos);
+
+            // verify tracked toad positions the model is no longer sure about - remove any that are gone
             verifyAllTrackedToads(script);
         }
     }
 
     /**
-     * verify all tracked toad positions and remove any where toad is no longer visible
+     * verify tracked toad positions and remove any where toad is no longer visible
      * called before checking ground count to ensure accuracy
+     * only toads whose lifecycle confidence dropped below the verify threshold are scanned,
+     * and the menu probe fallback is skipped for toads the model already believes are gone
      * IMPORTANT: only verifies when player is in VERIFICATION_AREA - when at swamp bubbles,
      * UI/camera blocks the drop area and we'd incorrectly remove positions we can't see
      */
@@ -609,26 +597,36 @@ public class AttackChompy extends Task {
 
         // check each position and collect ones to remove
         List<WorldPosition> toRemove = new ArrayList<>();
+        ToadLifecycle lifecycle = TidalsChompyHunter.toadLifecycle;
         for (WorldPosition toadPos : TidalsChompyHunter.droppedToadPositions.keySet()) {
+            // confident the toad is still there - no need to scan
+            if (!lifecycle.needsVerification(toadPos)) {
+                continue;
+            }
             // skip verification if something is occluding the toad sprite
             if (isTileOccluded(script, toadPos, playerPos)) {
                 script.log(AttackChompy.class, "skipping toad verify at " + toadPos.getX() + "," + toadPos.getY() + " - occluded by player/chompy");
                 continue;
             }
-            if (!isToadVisibleAt(script, toadPos)) {
-                // pixel check failed - double check via menu entry before removing
-                if (isToadPresentViaMenu(script, toadPos)) {
-                    script.log(AttackChompy.class, "toad at " + toadPos.getX() + "," + toadPos.getY() + " - pixel missed but menu confirmed");
-                    continue;
-                }
-                toRemove.add(toadPos);
-                script.log(AttackChompy.class, "toad gone at " + toadPos.getX() + "," + toadPos.getY());
+            if (isToadVisibleAt(script, toadPos)) {
+                lifecycle.onSighted(toadPos);
+                continue;
             }
+
+            // pixel check failed - double check via menu entry only if the model still expects the toad
+            if (lifecycle.worthMenuProbe(toadPos) && isToadPresentViaMenu(script, toadPos)) {
+                script.log(AttackChompy.class, "toad at " + toadPos.getX() + "," + toadPos.getY() + " - pixel missed but menu confirmed");
+                lifecycle.onSighted(toadPos);
+                continue;
+            }
+            toRemove.add(toadPos);
+            script.log(AttackChompy.class, "toad gone at " + toadPos.getX() + "," + toadPos.getY() +
+                    " (confidence: " + String.format("%.2f", lifecycle.getConfidence(toadPos)) + ")");
         }
 
         // remove all gone positions
         for (WorldPosition pos : toRemove) {
-            TidalsChompyHunter.droppedToadPositions.remove(pos);
+            TidalsChompyHunter.untrackToad(pos);
         }
 
         if (!toRemove.isEmpty()) {
@@ -751,40 +749,6 @@ public class AttackChompy extends Task {
         return found[0];
     }
 
-    /**
-     * check if dead chompy sprite is visible at a known ignored position
-     * uses bounded pixel cluster search within the tileCube (like toad verification)
-     * @param script the script instance
-     * @param position the ignored position to verify
-     * @return true if corpse still present, false if despawned
-     */
-    public static boolean isCorpseVisibleAt(Script script, WorldPosition position) {
-        Polygon tileCube = script.getSceneProjector().getTileCube(position, TILE_CUBE_HEIGHT);
-        if (tileCube == null) {
-            return false;
-        }
-
-        Rectangle bounds = tileCube.getBounds();
-        if (bounds == null) {
-            return false;
-        }
-
-        // search for dead chompy sprite within tileCube bounds only
-        // high tolerance since we're searching a small constrained area
-        PixelCluster.ClusterQuery query = new PixelCluster.ClusterQuery(
-                DEAD_CHOMPY_BOUNDED_MAX_DISTANCE,
-                DEAD_CHOMPY_BOUNDED_MIN_SIZE,
-                new SearchablePixel[]{DEAD_CHOMPY_BOUNDED}
-        );
-
-        PixelCluster.ClusterSearchResult result = script.getPixelAnalyzer().findClusters(bounds, query);
-        if (result == null) {
-            return false;
-        }
-
-        List<PixelCluster> clusters = result.getClusters();
-        return clusters != null && !clusters.isEmpty();
-    }
 
     /**
      * get next chompy to attack (oldest first = spawn order priority)
@@ -886,6 +850,8 @@ public class AttackChompy extends Task {
         }, killTimeout);
 
         if (killed) {
+            TidalsChompyHunter.ammoModel.onKill();
+
             // wait briefly for chatbox total to appear (follows "scratch a notch" message)
             // must wait for value to INCREASE, not just be positive (otherwise subsequent kills pass immediately)
             int previousTotal = TidalsChompyHunter.gameReportedTotalKills;
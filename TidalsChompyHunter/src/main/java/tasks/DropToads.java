@@ -7,6 +7,7 @@ import com.osmb.api.location.position.types.WorldPosition;
 import com.osmb.api.script.Script;
 import com.osmb.api.shape.Polygon;
 import com.osmb.api.utils.RandomUtils;
+import com.osmb.api.utils.UIResultList;
 import com.osmb.api.visual.PixelCluster;
 import com.osmb.api.visual.SearchablePixel;
 import com.osmb.api.visual.color.ColorModel;
@@ -14,8 +15,10 @@ import com.osmb.api.visual.color.tolerance.impl.SingleThresholdComparator;
 import com.osmb.api.walker.WalkConfig;
 import main.TidalsChompyHunter;
 import utils.Task;
+import utils.ToadDropPlanner;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -25,7 +28,7 @@ public class DropToads extends Task {
     private static final int BLOATED_TOAD = 2875;
 
     // toad drop area - polygon with 17 positions for collision avoidance
-    private static final PolyArea TOAD_DROP_AREA = new PolyArea(List.of(
+    private static final List<WorldPosition> TOAD_DROP_VERTICES = List.of(
         new WorldPosition(2391, 3044, 0),
         new WorldPosition(2389, 3043, 0),
         new WorldPosition(2385, 3046, 0),
@@ -43,7 +46,11 @@ public class DropToads extends Task {
         new WorldPosition(2385, 3044, 0),
         new WorldPosition(2385, 3045, 0),
         new WorldPosition(2386, 3044, 0)
-    ));
+    );
+    private static final PolyArea TOAD_DROP_AREA = new PolyArea(TOAD_DROP_VERTICES);
+
+    // precomputed drop slots and sequences over the drop area
+    private static final ToadDropPlanner DROP_PLANNER = new ToadDropPlanner(TOAD_DROP_AREA, TOAD_DROP_VERTICES);
 
     // target number of toads on ground
     private static final int TARGET_GROUND_TOADS = 5;
@@ -166,6 +173,9 @@ public class DropToads extends Task {
                 resetState();
                 return false;
             }
+
+            // line up on the start of a free drop sequence (no walk if we're already on one)
+            walkToPlannedPosition(toadsTarget);
             dropState = DropState.CHECK_POSITION;
             return true; // re-poll
         }
@@ -181,9 +191,9 @@ public class DropToads extends Task {
                 dropState = DropState.DONE;
                 return true;
             }
-            if (isNextDropPositionBlocked()) {
-                script.log(getClass(), "corpse at next drop position - moving to new location");
-                walkToNewPosition();
+            if (isDropTileBlocked()) {
+                script.log(getClass(), "drop tile occupied - moving to next planned position");
+                walkToPlannedPosition(toadsTarget - toadsDropped);
                 retries++;
                 return true; // re-poll, stay in CHECK_POSITION
             }
@@ -201,7 +211,8 @@ public class DropToads extends Task {
                     script.log(getClass(), "toad collision at " +
                             (lastDropPosition != null ? lastDropPosition.getX() + "," + lastDropPosition.getY() : "null") +
                             " - NOT tracking, moving to new position");
-                    walkToNewPosition();
+                    DROP_PLANNER.markCollision(lastDropPosition);
+                    walkToPlannedPosition(toadsTarget - toadsDropped);
                     retries++;
                     dropState = DropState.CHECK_POSITION;
                     return true;
@@ -224,8 +235,7 @@ public class DropToads extends Task {
                 // fast menu check - confirm "bloated toad" exists at the drop tile
                 boolean confirmed = confirmToadViaMenu(lastDropPosition);
                 if (confirmed) {
-                    TidalsChompyHunter.droppedToadPositions.put(lastDropPosition, System.currentTimeMillis());
-                    TidalsChompyHunter.lastToadPresentTime = System.currentTimeMillis();
+                    TidalsChompyHunter.trackDroppedToad(lastDropPosition, true);
                     script.log(getClass(), "TRACKED toad (menu confirmed) at " + lastDropPosition.getX() + "," + lastDropPosition.getY() +
                             " (" + TidalsChompyHunter.droppedToadPositions.size() + " total tracked)");
                 } else {
@@ -259,13 +269,11 @@ public class DropToads extends Task {
         if (dropState == DropState.TRACKING) {
             WorldPosition foundToad = findUntrackedToadNearby(lastDropPosition);
             if (foundToad != null) {
-                TidalsChompyHunter.droppedToadPositions.put(foundToad, System.currentTimeMillis());
-                TidalsChompyHunter.lastToadPresentTime = System.currentTimeMillis();
+                TidalsChompyHunter.trackDroppedToad(foundToad, false);
                 script.log(getClass(), "TRACKED toad (pixel fallback) at " + foundToad.getX() + "," + foundToad.getY() +
                         " (" + TidalsChompyHunter.droppedToadPositions.size() + " total tracked)");
             } else if (lastDropPosition != null) {
-                TidalsChompyHunter.droppedToadPositions.put(lastDropPosition, System.currentTimeMillis());
-                TidalsChompyHunter.lastToadPresentTime = System.currentTimeMillis();
+                TidalsChompyHunter.trackDroppedToad(lastDropPosition, false);
                 script.log(getClass(), "FALLBACK: tracked at lastDropPosition " + lastDropPosition.getX() + "," + lastDropPosition.getY());
             } else {
                 script.log(getClass(), "ERROR: could not find or track toad - this drop is lost");
@@ -314,7 +322,9 @@ public class DropToads extends Task {
             return true;
         }
 
-        WorldPosition target = TOAD_DROP_AREA.getRandomPosition();
+        // head straight for the closest free drop sequence so we don't need a second step once there
+        ToadDropPlanner.Plan plan = DROP_PLANNER.plan(playerPos, countBloatedToads(), currentOccupancy());
+        WorldPosition target = plan != null ? plan.start : TOAD_DROP_AREA.getRandomPosition();
         script.log(getClass(), "walking to drop area target: " + target.getX() + "," + target.getY());
 
         // precise walk - minimap only, no screen walking
@@ -347,53 +357,61 @@ public class DropToads extends Task {
     }
 
     /**
-     * check if the next toad drop position has a known dead chompy
-     * player drops toad 1 tile east, so check (player.x + 1, player.y)
-     * @return true if corpse blocking, false if clear to drop
+     * check if the tile we're standing on (where the toad will land) is occupied
+     * by a tracked toad, a known corpse or an earlier collision - bitmap lookup, no pixel scans
+     * @return true if blocked, false if clear to drop
      */
-    private boolean isNextDropPositionBlocked() {
+    private boolean isDropTileBlocked() {
         WorldPosition playerPos = script.getWorldPosition();
         if (playerPos == null) return false;
+        return !DROP_PLANNER.isFree(playerPos, currentOccupancy());
+    }
 
-        // toad lands 1 tile east of player
-        WorldPosition nextToadPos = new WorldPosition(playerPos.getX() + 1, playerPos.getY(), 0);
-
-        // check if this position is in ignoredPositionTimestamps (known corpse)
-        int posKey = AttackChompy.posKey(nextToadPos);
-        if (!AttackChompy.isPositionIgnored(posKey)) {
-            return false; // not a known corpse position
-        }
-
-        // verify corpse is actually still there via pixel detection
-        if (AttackChompy.isCorpseVisibleAt(script, nextToadPos)) {
-            script.log(getClass(), "corpse blocking next drop at " + nextToadPos.getX() + "," + nextToadPos.getY());
-            return true;
+    /**
+     * occupancy bitmap of the drop area from tracked toads, known corpses and ignored chompies
+     * ignored positions include other players' live chompies, so they only block while the minimap
+     * still shows an npc on the tile
+     */
+    private long currentOccupancy() {
+        List<WorldPosition> ignored = AttackChompy.getIgnoredPositions();
+        List<WorldPosition> blockers = new ArrayList<>(TidalsChompyHunter.corpsePositions);
+        if (!ignored.isEmpty()) {
+            UIResultList<WorldPosition> npcs = script.getWidgetManager().getMinimap().getNPCPositions();
+            if (npcs == null || !npcs.isFound()) {
+                blockers.addAll(ignored); // can't re-check - stay cautious
+            } else {
+                Set<WorldPosition> npcTiles = new HashSet<>(npcs.asList());
+                for (WorldPosition pos : ignored) {
+                    if (npcTiles.contains(pos)) blockers.add(pos);
+                }
+            }
         }
-
-        // position was ignored but corpse despawned - clean up the stale ignore
-        AttackChompy.removeIgnoredPosition(posKey);
-        script.log(getClass(), "cleared stale ignore at " + nextToadPos.getX() + "," + nextToadPos.getY());
-        return false;
+        return DROP_PLANNER.buildOccupancy(TidalsChompyHunter.droppedToadPositions.keySet(), blockers);
     }
 
     /**
-     * walk to a new random position in the drop area (for collision avoidance)
+     * walk to the start of the closest free drop sequence for the remaining toads
      */
-    private void walkToNewPosition() {
+    private void walkToPlannedPosition(int remaining) {
         WorldPosition playerPos = script.getWorldPosition();
         if (playerPos == null) return;
 
-        WorldPosition target = TOAD_DROP_AREA.getRandomPosition();
-
-        script.log(getClass(), "stepping from " + playerPos.getX() + "," + playerPos.getY() +
-                " to " + target.getX() + "," + target.getY());
+        ToadDropPlanner.Plan plan = DROP_PLANNER.plan(playerPos, remaining, currentOccupancy());
+        if (plan == null) {
+            script.log(getClass(), "no free drop tiles in area");
+            return;
+        }
+        WorldPosition target = plan.start;
 
         // skip if already at target
         if (playerPos.equals(target)) {
-            script.log(getClass(), "already at target position");
+            logVerbose("already at planned drop position " + target.getX() + "," + target.getY());
             return;
         }
 
+        script.log(getClass(), "stepping from " + playerPos.getX() + "," + playerPos.getY() +
+                " to " + target.getX() + "," + target.getY() + " (sequence of " + plan.count + ")");
+
         // precise walk - minimap only, no screen walking
         WalkConfig config = new WalkConfig.Builder()
                 .setWalkMethods(false, true)
@@ -438,6 +456,7 @@ public class DropToads extends Task {
         toadsTarget = 0;
         retries = 0;
         lastDropPosition = null;
+        DROP_PLANNER.resetCycle();
     }
 
     /**
@@ -482,6 +501,9 @@ public class DropToads extends Task {
             WorldPosition postDropPos = script.getWorldPosition();
             script.log(getClass(),"POST-DROP position (player moved to): " + (postDropPos != null ? postDropPos.getX() + "," + postDropPos.getY() : "null"));
 
+            // keep planned sequences aligned with the direction the game actually moves us
+            DROP_PLANNER.observeAutoMove(preDropPos, postDropPos);
+
             return true;
         }
 
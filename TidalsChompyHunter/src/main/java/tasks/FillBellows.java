@@ -8,9 +8,11 @@ import com.osmb.api.walker.WalkConfig;
 import com.osmb.api.shape.Polygon;
 import com.osmb.api.utils.RandomUtils;
 import main.TidalsChompyHunter;
+import utils.BubbleStats;
 import utils.Task;
 import utilities.RetryUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -27,11 +29,11 @@ public class FillBellows extends Task {
 
     // swamp bubble locations with their accessible stand positions
     private static final List<BubbleLocation> BUBBLES = List.of(
-        new BubbleLocation(new WorldPosition(2393, 3049, 0), new WorldPosition(2394, 3049, 0)),  // x+1
-        new BubbleLocation(new WorldPosition(2393, 3049, 0), new WorldPosition(2392, 3049, 0)),  // x-1
-        new BubbleLocation(new WorldPosition(2395, 3046, 0), new WorldPosition(2394, 3046, 0)),  // x-1
-        new BubbleLocation(new WorldPosition(2396, 3047, 0), new WorldPosition(2396, 3048, 0)),  // y+1
-        new BubbleLocation(new WorldPosition(2392, 3053, 0), new WorldPosition(2391, 3053, 0))   // x-1
+        new BubbleLocation(0, new WorldPosition(2393, 3049, 0), new WorldPosition(2394, 3049, 0)),  // x+1
+        new BubbleLocation(1, new WorldPosition(2393, 3049, 0), new WorldPosition(2392, 3049, 0)),  // x-1
+        new BubbleLocation(2, new WorldPosition(2395, 3046, 0), new WorldPosition(2394, 3046, 0)),  // x-1
+        new BubbleLocation(3, new WorldPosition(2396, 3047, 0), new WorldPosition(2396, 3048, 0)),  // y+1
+        new BubbleLocation(4, new WorldPosition(2392, 3053, 0), new WorldPosition(2391, 3053, 0))   // x-1
     );
 
     private static final int OGRE_BELLOWS_EMPTY = 2871;
@@ -39,7 +41,7 @@ public class FillBellows extends Task {
     private static final int OGRE_BELLOWS_2 = 2873;
     private static final int OGRE_BELLOWS_1 = 2874;
 
-    private static final PolyArea TOAD_DROP_AREA = new PolyArea(List.of(
+    private static final List<WorldPosition> TOAD_DROP_VERTICES = List.of(
         new WorldPosition(2391, 3044, 0),
         new WorldPosition(2389, 3043, 0),
         new WorldPosition(2385, 3046, 0),
@@ -57,7 +59,16 @@ public class FillBellows extends Task {
         new WorldPosition(2385, 3044, 0),
         new WorldPosition(2385, 3045, 0),
         new WorldPosition(2386, 3044, 0)
-    ));
+    );
+    private static final PolyArea TOAD_DROP_AREA = new PolyArea(TOAD_DROP_VERTICES);
+
+    // cached return tile per bubble - closest drop area tile to its stand position (indexed like BUBBLES)
+    private static final List<WorldPosition> RETURN_TILES = computeReturnTiles();
+    // walk-back target is picked within this many tiles of the cached return tile
+    private static final int RETURN_TILE_RADIUS = 2;
+
+    // learned per-bubble fill/walk times and failed interactions - persists for the session
+    private static final BubbleStats BUBBLE_STATS = new BubbleStats(BUBBLES.size());
 
     private static final int TILE_CUBE_HEIGHT = 40;
 
@@ -66,6 +77,9 @@ public class FillBellows extends Task {
     private List<BubbleLocation> sortedBubbles;
     private int bubbleIndex = 0;
 
+    // timing for the bubble currently in use
+    private long fillStartTime = 0;
+
     // keeps FillBellows active across multiple suck cycles until all bellows are full
     private boolean fillingInProgress = false;
 
@@ -77,6 +91,7 @@ public class FillBellows extends Task {
         state = State.FIND_BUBBLE;
         sortedBubbles = null;
         bubbleIndex = 0;
+        fillStartTime = 0;
         fillingInProgress = false;
         fillWaitPolls = 0;
     }
@@ -140,7 +155,7 @@ public class FillBellows extends Task {
     private boolean handleFindBubble() {
         script.log(getClass(), "bellows empty, finding swamp bubble...");
         fillingInProgress = true;
-        sortedBubbles = getBubblesByDistance();
+        sortedBubbles = getBubblesByExpectedRoundTrip();
         bubbleIndex = 0;
         state = State.WALK_TO_BUBBLE;
         return true;
@@ -157,6 +172,8 @@ public class FillBellows extends Task {
         script.log(getClass(), "trying bubble " + (bubbleIndex + 1) + "/" + sortedBubbles.size() +
             " at " + bubble.bubblePos.getX() + "," + bubble.bubblePos.getY());
 
+        BUBBLE_STATS.recordAttempt(bubble.index);
+
         WorldPosition playerPos = script.getWorldPosition();
         if (playerPos != null && playerPos.distanceTo(bubble.standPos) <= 1) {
             // already close enough, move to interact
@@ -170,13 +187,19 @@ public class FillBellows extends Task {
                 .timeout(RandomUtils.weightedRandom(8000, 12000, 0.002))
                 .build();
 
+        long walkStart = System.currentTimeMillis();
         boolean walked = script.getWalker().walkTo(bubble.standPos, config);
         if (!walked) {
             script.log(getClass(), "failed to reach stand position, trying next bubble");
+            BUBBLE_STATS.recordFailure(bubble.index);
             bubbleIndex++;
             // stay in WALK_TO_BUBBLE to try next
             return true;
         }
+        if (playerPos != null) {
+            BUBBLE_STATS.recordWalkOut(bubble.index, System.currentTimeMillis() - walkStart,
+                    playerPos.distanceTo(bubble.standPos));
+        }
 
         state = State.INTERACT_WITH_BUBBLE;
         return true;
@@ -192,6 +215,7 @@ public class FillBellows extends Task {
         Polygon tilePoly = script.getSceneProjector().getTileCube(bubble.bubblePos, TILE_CUBE_HEIGHT);
         if (tilePoly == null) {
             script.log(getClass(), "bubble tile not visible, trying next bubble");
+            BUBBLE_STATS.recordFailure(bubble.index);
             bubbleIndex++;
             state = State.WALK_TO_BUBBLE;
             return true;
@@ -207,11 +231,13 @@ public class FillBellows extends Task {
 
         if (!sucked) {
             script.log(getClass(), "failed to suck bubble, trying next location");
+            BUBBLE_STATS.recordFailure(bubble.index);
             bubbleIndex++;
             state = State.WALK_TO_BUBBLE;
             return true;
         }
 
+        fillStartTime = System.currentTimeMillis();
         state = State.WAIT_FOR_FILL;
         return true;
     }
@@ -237,6 +263,7 @@ public class FillBellows extends Task {
         if (remaining > 0) {
             if (fillWaitPolls >= MAX_FILL_WAIT_POLLS) {
                 script.log(getClass(), "timeout waiting for bellows to fill (" + remaining + " still empty)");
+                BUBBLE_STATS.recordFailure(sortedBubbles.get(bubbleIndex).index);
                 fillWaitPolls = 0;
                 resetState();
                 return false;
@@ -248,7 +275,9 @@ public class FillBellows extends Task {
 
         fillWaitPolls = 0;
 
-        script.log(getClass(), "all bellows filled");
+        BubbleLocation bubble = sortedBubbles.get(bubbleIndex);
+        BUBBLE_STATS.recordFill(bubble.index, System.currentTimeMillis() - fillStartTime);
+        script.log(getClass(), "all bellows filled (bubble " + bubble.index + ": " + BUBBLE_STATS.describe(bubble.index) + ")");
         TidalsChompyHunter.bellowsEmpty = false;
         state = State.RETURN_TO_AREA;
         return true;
@@ -265,8 +294,11 @@ public class FillBellows extends Task {
         // brief post-fill delay before walking
         script.pollFramesUntil(() -> false, RandomUtils.gaussianRandom(1800, 2400, 2100, 150));
 
-        WorldPosition target = TOAD_DROP_AREA.getRandomPosition();
-        script.log(getClass(), "returning to drop area");
+        // return near the cached drop tile closest to the bubble we used
+        BubbleLocation bubble = sortedBubbles != null && bubbleIndex < sortedBubbles.size()
+                ? sortedBubbles.get(bubbleIndex) : null;
+        WorldPosition target = bubble != null ? randomTileNear(RETURN_TILES.get(bubble.index)) : TOAD_DROP_AREA.getRandomPosition();
+        script.log(getClass(), "returning to drop area at " + target.getX() + "," + target.getY());
 
         WalkConfig config = new WalkConfig.Builder()
                 .setWalkMethods(false, true)
@@ -274,24 +306,71 @@ public class FillBellows extends Task {
                 .timeout(RandomUtils.weightedRandom(8000, 12000, 0.002))
                 .build();
 
-        script.getWalker().walkTo(target, config);
+        WorldPosition startPos = script.getWorldPosition();
+        long walkStart = System.currentTimeMillis();
+        boolean walked = script.getWalker().walkTo(target, config);
+        if (walked && bubble != null && startPos != null) {
+            BUBBLE_STATS.recordWalkBack(bubble.index, System.currentTimeMillis() - walkStart, startPos.distanceTo(target));
+        }
         resetState();
         return true;
     }
 
-    private List<BubbleLocation> getBubblesByDistance() {
+    /**
+     * order bubbles by expected round trip - walk out, fill, walk back and failure risk
+     * unmeasured bubbles fall back to distance-based priors for the walk out and the walk back
+     */
+    private List<BubbleLocation> getBubblesByExpectedRoundTrip() {
         WorldPosition playerPos = script.getWorldPosition();
         if (playerPos == null) {
             return BUBBLES;
         }
 
-        return BUBBLES.stream()
-            .sorted((a, b) -> {
-                double distA = playerPos.distanceTo(a.standPos);
-                double distB = playerPos.distanceTo(b.standPos);
-                return Double.compare(distA, distB);
-            })
-            .toList();
+        double[] tilesOut = new double[BUBBLES.size()];
+        double[] tilesBack = new double[BUBBLES.size()];
+        for (BubbleLocation bubble : BUBBLES) {
+            tilesOut[bubble.index] = playerPos.distanceTo(bubble.standPos);
+            tilesBack[bubble.index] = bubble.standPos.distanceTo(RETURN_TILES.get(bubble.index));
+        }
+
+        List<BubbleLocation> ordered = new ArrayList<>(BUBBLES.size());
+        for (int index : BUBBLE_STATS.rank(tilesOut, tilesBack)) {
+            ordered.add(BUBBLES.get(index));
+        }
+        return ordered;
+    }
+
+    /**
+     * closest drop area tile to each bubble's stand position - computed once at class load
+     */
+    private static List<WorldPosition> computeReturnTiles() {
+        List<WorldPosition> tiles = new ArrayList<>(BUBBLES.size());
+        for (BubbleLocation bubble : BUBBLES) {
+            WorldPosition best = TOAD_DROP_VERTICES.get(0);
+            for (WorldPosition vertex : TOAD_DROP_VERTICES) {
+                if (bubble.standPos.distanceTo(vertex) < bubble.standPos.distanceTo(best)) {
+                    best = vertex;
+                }
+            }
+            tiles.add(best);
+        }
+        return tiles;
+    }
+
+    /**
+     * random drop area tile within RETURN_TILE_RADIUS of the anchor, the anchor itself if none land inside
+     */
+    private static WorldPosition randomTileNear(WorldPosition anchor) {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            WorldPosition tile = new WorldPosition(
+                    anchor.getX() + RandomUtils.uniformRandom(-RETURN_TILE_RADIUS, RETURN_TILE_RADIUS),
+                    anchor.getY() + RandomUtils.uniformRandom(-RETURN_TILE_RADIUS, RETURN_TILE_RADIUS),
+                    anchor.getPlane());
+            if (TOAD_DROP_AREA.contains(tile)) {
+                return tile;
+            }
+        }
+        return anchor;
     }
 
     private boolean allBellowsEmpty() {
@@ -323,10 +402,12 @@ public class FillBellows extends Task {
     }
 
     private static class BubbleLocation {
+        final int index;
         final WorldPosition bubblePos;
         final WorldPosition standPos;
 
-        BubbleLocation(WorldPosition bubblePos, WorldPosition standPos) {
+        BubbleLocation(int index, WorldPosition bubblePos, WorldPosition standPos) {
+            this.index = index;
             this.bubblePos = bubblePos;
             this.standPos = standPos;
         }
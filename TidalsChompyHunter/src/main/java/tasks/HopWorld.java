@@ -63,6 +63,9 @@ public class HopWorld extends Task {
         // set guard flag immediately to prevent re-entry
         isHopping = true;
 
+        // start hop-to-first-attack timing
+        TidalsChompyHunter.hopTimer.hopStarted();
+
         // CRITICAL: clear crash flag IMMEDIATELY before anything can interrupt us
         // if OSMB's internal handler interrupts, we won't loop back here
         DetectPlayers.crashDetected = false;
@@ -103,11 +106,15 @@ public class HopWorld extends Task {
             // reset state for new world
             resetStateForNewWorld();
 
-            // brief validation
-            if (!validateEquipment()) {
+            // equipment can't change during a hop - only re-read it when no session fingerprint exists
+            if (TidalsChompyHunter.equipmentFingerprint != null) {
+                script.log(getClass(), "skipping equipment tab check - Setup will verify session fingerprint");
+            } else if (!validateEquipment()) {
                 script.log(getClass(), "equipment validation failed after hop - Setup will re-validate");
             }
 
+            TidalsChompyHunter.hopTimer.hopCompleted();
+
             TidalsChompyHunter.task = "checking new world...";
             script.log(getClass(), "ready for Setup to check new world");
 
@@ -129,7 +136,7 @@ public class HopWorld extends Task {
         TidalsChompyHunter.groundToadCount = 0;
 
         // clear tracked positions (toads/corpses lost on world change)
-        TidalsChompyHunter.droppedToadPositions.clear();
+        TidalsChompyHunter.clearTrackedToads();
         TidalsChompyHunter.corpsePositions.clear();
 
         // reset ownership claim - fresh world, no claim until we drop toads
@@ -4,11 +4,13 @@ import com.osmb.api.item.ItemGroupResult;
 import com.osmb.api.item.ItemSearchResult;
 import com.osmb.api.script.Script;
 import com.osmb.api.ui.chatbox.dialogue.DialogueType;
+import com.osmb.api.ui.overlay.BuffOverlay;
 import com.osmb.api.ui.tabs.Tab;
 import com.osmb.api.utils.UIResult;
 import com.osmb.api.utils.RandomUtils;
 import com.osmb.api.utils.UIResultList;
 import main.TidalsChompyHunter;
+import utils.EquipmentFingerprint;
 import utils.Task;
 
 import static main.TidalsChompyHunter.task;
@@ -116,28 +118,45 @@ public class Setup extends Task {
             errors.add("3+ free inventory slots (have " + freeSlots + ")");
         }
 
-        // switch to equipment tab
-        script.getWidgetManager().getTabManager().openTab(Tab.Type.EQUIPMENT);
-        script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(300, 500));
-
-        // SETUP-02: check ogre bow equipped
-        UIResult<ItemSearchResult> bowCheck = script.getWidgetManager().getEquipment().findItem(OGRE_BOWS);
-        if (!bowCheck.isFound()) {
-            errors.add("ogre bow or comp ogre bow equipped");
+        // post-hop fast path: equipment can't change during a hop, so trust the session
+        // fingerprint unless the cheap check (arrow overlay + bellows count) disagrees
+        EquipmentFingerprint fingerprint = TidalsChompyHunter.equipmentFingerprint;
+        boolean fastPath = fingerprint != null && passesCheapCheck(fingerprint, bellowsCount);
+        if (fingerprint != null && !fastPath) {
+            script.log(getClass(), "cheap equipment check failed - running full validation");
+            TidalsChompyHunter.equipmentFingerprint = null;
         }
 
-        // SETUP-03: check arrows equipped
-        UIResult<ItemSearchResult> arrowCheck = script.getWidgetManager().getEquipment().findItem(VALID_ARROWS);
-        if (!arrowCheck.isFound()) {
-            errors.add("brutal arrows or ogre arrows equipped");
+        int bowId = -1;
+        if (fastPath) {
+            script.log(getClass(), "trusting session equipment (" + fingerprint + ") - skipping equipment tab");
         } else {
-            // capture initial arrow count and item ID for BuffOverlay tracking
-            ItemSearchResult arrowResult = arrowCheck.get();
-            if (arrowResult != null) {
-                TidalsChompyHunter.initialArrowCount = arrowResult.getStackAmount();
-                TidalsChompyHunter.equippedArrowId = arrowResult.getId();
-                script.log(getClass(), "initial arrow count: " + TidalsChompyHunter.initialArrowCount +
-                           ", item ID: " + TidalsChompyHunter.equippedArrowId);
+            // switch to equipment tab
+            script.getWidgetManager().getTabManager().openTab(Tab.Type.EQUIPMENT);
+            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(300, 500));
+
+            // SETUP-02: check ogre bow equipped
+            UIResult<ItemSearchResult> bowCheck = script.getWidgetManager().getEquipment().findItem(OGRE_BOWS);
+            if (!bowCheck.isFound()) {
+                errors.add("ogre bow or comp ogre bow equipped");
+            } else if (bowCheck.get() != null) {
+                bowId = bowCheck.get().getId();
+            }
+
+            // SETUP-03: check arrows equipped
+            UIResult<ItemSearchResult> arrowCheck = script.getWidgetManager().getEquipment().findItem(VALID_ARROWS);
+            if (!arrowCheck.isFound()) {
+                errors.add("brutal arrows or ogre arrows equipped");
+            } else {
+                // capture initial arrow count and item ID for BuffOverlay tracking
+                ItemSearchResult arrowResult = arrowCheck.get();
+                if (arrowResult != null) {
+                    TidalsChompyHunter.initialArrowCount = arrowResult.getStackAmount();
+                    TidalsChompyHunter.equippedArrowId = arrowResult.getId();
+                    TidalsChompyHunter.ammoModel.reconcile(TidalsChompyHunter.initialArrowCount);
+                    script.log(getClass(), "initial arrow count: " + TidalsChompyHunter.initialArrowCount +
+                               ", item ID: " + TidalsChompyHunter.equippedArrowId);
+                }
             }
         }
 
@@ -157,8 +176,16 @@ public class Setup extends Task {
         // check and set zoom level
         checkZoomLevel();
 
-        // check bow for total kills (nice-to-have, don't stop if fails)
-        checkBowForTotalKills();
+        if (!fastPath) {
+            // check bow for total kills (nice-to-have, don't stop if fails)
+            // needs the equipment tab - after the first read kills are tracked from chat
+            checkBowForTotalKills();
+
+            // remember the validated loadout so post-hop setups can skip the equipment tab
+            TidalsChompyHunter.equipmentFingerprint =
+                    new EquipmentFingerprint(bowId, TidalsChompyHunter.equippedArrowId, bellowsCount);
+            script.log(getClass(), "captured session equipment fingerprint: " + TidalsChompyHunter.equipmentFingerprint);
+        }
 
         // enable arrow detection for chompy spawn detection
         script.getWidgetManager().getMinimap().arrowDetectionEnabled(true);
@@ -169,7 +196,7 @@ public class Setup extends Task {
         script.log(getClass(), "ground toad counter reset");
 
         // clear any tracked toad/corpse positions from previous session
-        TidalsChompyHunter.droppedToadPositions.clear();
+        TidalsChompyHunter.clearTrackedToads();
         TidalsChompyHunter.corpsePositions.clear();
         AttackChompy.resetAllState();  // clear tracked chompies, ignored positions, combat state
         script.log(getClass(), "cleared tracked positions and attack state");
@@ -223,12 +250,29 @@ public class Setup extends Task {
         script.log(getClass(), "no stray chompies - world is clean");
 
         // all validations passed
-        script.log(getClass(), "Setup complete - all requirements verified");
+        script.log(getClass(), "Setup complete - all requirements verified" + (fastPath ? " (fast path)" : ""));
         TidalsChompyHunter.setupComplete = true;
+        TidalsChompyHunter.hopTimer.setupCompleted();
 
         return false;
     }
 
+    /**
+     * cheap post-hop check that the session fingerprint still holds
+     * arrow buff overlay visible for the same arrow id and no bellows lost - no tab switching
+     */
+    private boolean passesCheapCheck(EquipmentFingerprint fingerprint, int bellowsCount) {
+        if (bellowsCount < fingerprint.getBellowsCount()) {
+            script.log(getClass(), "bellows count changed (" + fingerprint.getBellowsCount() + " -> " + bellowsCount + ")");
+            return false;
+        }
+        if (fingerprint.getArrowId() <= 0 || !new BuffOverlay(script, fingerprint.getArrowId()).isVisible()) {
+            script.log(getClass(), "arrow overlay not visible for item ID: " + fingerprint.getArrowId());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * check ogre bow for total kills via "Check" action
      * parses dialogue for "total of (X) chompy" pattern
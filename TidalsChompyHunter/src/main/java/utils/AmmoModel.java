@@ -0,0 +1,127 @@
+package utils;
+
+/**
+ * predictive arrow counter
+ * decrements on observed attacks and kills, reconciles from exact reads (buff overlay / equipment tab)
+ * and tracks its own uncertainty so the equipment tab is only opened when the prediction can't be trusted
+ */
+public class AmmoModel {
+
+    // arrows per kill until we've measured a few hunt cycles
+    private static final double PRIOR_ARROWS_PER_KILL = 3.0;
+    private static final double ALPHA = 0.25;
+
+    // variance added per predicted event (arrows^2)
+    private static final double ATTACK_VARIANCE = 0.25;
+    private static final double KILL_VARIANCE = 2.0;
+
+    // force an exact read once the prediction is this uncertain (standard deviation, arrows)
+    private static final double UNCERTAINTY_THRESHOLD = 4.0;
+
+    // near empty - always confirm with an exact read rather than trusting the prediction
+    private static final int LOW_AMMO_MARGIN = 10;
+
+    // keep reading the overlay this long after the last attack/kill so late arrow updates are caught
+    private static final long SETTLE_MS = 3000;
+
+    private double estimate = -1;  // -1 = unknown until first exact read
+    private double variance = 0;
+    private double arrowsPerKill = PRIOR_ARROWS_PER_KILL;
+    private long lastEventTime = 0;
+
+    // per-cycle learning: exact count when the attack started and the last exact count after the kill
+    private double cycleStartCount = -1;
+    private double postKillCount = -1;
+    private boolean killInCycle = false;
+
+    /**
+     * record an attack we started - at least one arrow leaves the quiver
+     */
+    public void onAttack() {
+        learnFromFinishedCycle();
+        cycleStartCount = variance == 0 ? estimate : -1;
+        postKillCount = -1;
+        killInCycle = false;
+
+        predict(1, ATTACK_VARIANCE);
+    }
+
+    /**
+     * record a confirmed kill - remaining arrows for the kill are predicted from the learned rate
+     */
+    public void onKill() {
+        killInCycle = true;
+        predict(Math.max(0, arrowsPerKill - 1), KILL_VARIANCE);
+    }
+
+    /**
+     * reconcile with an exact count read from the overlay or equipment tab
+     */
+    public void reconcile(int observed) {
+        estimate = observed;
+        variance = 0;
+        if (killInCycle) {
+            postKillCount = observed;
+        }
+    }
+
+    /**
+     * true while arrow counts may still be changing (in combat or shortly after an event)
+     * outside this window the count shouldn't move, so overlay text reads can be skipped
+     */
+    public boolean isSettling(boolean inCombat) {
+        return inCombat || System.currentTimeMillis() - lastEventTime < SETTLE_MS;
+    }
+
+    /**
+     * true when the prediction can't be trusted and an equipment tab read is worth the interruption
+     */
+    public boolean needsExactRead() {
+        if (estimate < 0) {
+            return true;
+        }
+        return getUncertainty() >= UNCERTAINTY_THRESHOLD || estimate <= LOW_AMMO_MARGIN;
+    }
+
+    /**
+     * predicted arrow count, or -1 if unknown
+     */
+    public int getEstimate() {
+        return estimate < 0 ? -1 : (int) Math.max(0, Math.round(estimate));
+    }
+
+    /**
+     * standard deviation of the prediction in arrows (0 right after an exact read)
+     */
+    public double getUncertainty() {
+        return Math.sqrt(variance);
+    }
+
+    public double getArrowsPerKill() {
+        return arrowsPerKill;
+    }
+
+    private void predict(double arrows, double addedVariance) {
+        lastEventTime = System.currentTimeMillis();
+        if (estimate < 0) {
+            return;
+        }
+        estimate = Math.max(0, estimate - arrows);
+        variance += addedVariance;
+    }
+
+    /**
+     * learn arrows per kill from the previous cycle once a new one starts
+     * only cycles with an exact count at both ends are used
+     */
+    private void learnFromFinishedCycle() {
+        if (!killInCycle || cycleStartCount < 0 || postKillCount < 0) {
+            return;
+        }
+        double used = cycleStartCount - postKillCount;
+        // ignore nonsense samples (restock mid-cycle, misread overlay)
+        if (used >= 1 && used <= 30) {
+            arrowsPerKill += ALPHA * (used - arrowsPerKill);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * per-bubble refill statistics for FillBellows
+ * learns walk, fill and return times plus failed interactions for each swamp bubble
+ * and orders bubbles by expected round-trip time from the drop area
+ */
+public class BubbleStats {
+
+    // priors used until a bubble has been measured
+    private static final double PRIOR_MS_PER_TILE = 600;
+    private static final double PRIOR_FILL_MS = 4000;
+
+    // smoothing factor for measured times (higher = adapts faster)
+    private static final double ALPHA = 0.3;
+
+    // cost of a failed interaction - walk on to the next bubble plus re-targeting
+    private static final double FAILURE_PENALTY_MS = 6000;
+
+    private final int[] attempts;
+    private final int[] failures;
+    private final double[] walkOutMsPerTile;
+    private final double[] fillMs;
+    private final double[] walkBackMsPerTile;
+
+    public BubbleStats(int bubbleCount) {
+        attempts = new int[bubbleCount];
+        failures = new int[bubbleCount];
+        walkOutMsPerTile = new double[bubbleCount];
+        fillMs = new double[bubbleCount];
+        walkBackMsPerTile = new double[bubbleCount];
+        Arrays.fill(walkOutMsPerTile, Double.NaN);
+        Arrays.fill(fillMs, Double.NaN);
+        Arrays.fill(walkBackMsPerTile, Double.NaN);
+    }
+
+    public void recordAttempt(int bubble) {
+        attempts[bubble]++;
+    }
+
+    public void recordFailure(int bubble) {
+        failures[bubble]++;
+    }
+
+    public void recordWalkOut(int bubble, long ms, double tiles) {
+        if (tiles <= 0) return;
+        walkOutMsPerTile[bubble] = smooth(walkOutMsPerTile[bubble], ms / tiles);
+    }
+
+    public void recordFill(int bubble, long ms) {
+        fillMs[bubble] = smooth(fillMs[bubble], ms);
+    }
+
+    public void recordWalkBack(int bubble, long ms, double tiles) {
+        if (tiles <= 0) return;
+        walkBackMsPerTile[bubble] = smooth(walkBackMsPerTile[bubble], ms / tiles);
+    }
+
+    /**
+     * expected time to walk out, fill and return, including the chance the interaction fails
+     * failure rate uses a +1/+2 prior so unseen bubbles aren't assumed perfect
+     */
+    public double expectedRoundTripMs(int bubble, double tilesOut, double tilesBack) {
+        double out = tilesOut * valueOr(walkOutMsPerTile[bubble], PRIOR_MS_PER_TILE);
+        double fill = valueOr(fillMs[bubble], PRIOR_FILL_MS);
+        double back = tilesBack * valueOr(walkBackMsPerTile[bubble], PRIOR_MS_PER_TILE);
+        double failureRate = (failures[bubble] + 1.0) / (attempts[bubble] + 2.0);
+        return out + fill + back + failureRate * FAILURE_PENALTY_MS;
+    }
+
+    /**
+     * bubble indices ordered by expected round trip (cheapest first)
+     * @param tilesOut distance from the player to each bubble's stand tile
+     * @param tilesBack distance from each stand tile to its cached return tile
+     */
+    public Integer[] rank(double[] tilesOut, double[] tilesBack) {
+        Integer[] order = new Integer[attempts.length];
+        double[] cost = new double[attempts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            cost[i] = expectedRoundTripMs(i, tilesOut[i], tilesBack[i]);
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(cost[a], cost[b]));
+        return order;
+    }
+
+    /**
+     * one-line summary of a bubble's stats for logging
+     */
+    public String describe(int bubble) {
+        return "attempts=" + attempts[bubble] + " failed=" + failures[bubble] +
+                " fill=" + format(fillMs[bubble]) + "ms" +
+                " out=" + format(walkOutMsPerTile[bubble]) + "ms/tile" +
+                " back=" + format(walkBackMsPerTile[bubble]) + "ms/tile";
+    }
+
+    private static double smooth(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + ALPHA * (sample - current);
+    }
+
+    private static double valueOr(double value, double fallback) {
+        return Double.isNaN(value) ? fallback : value;
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "-" : String.valueOf(Math.round(value));
+    }
+}
@@ -0,0 +1,30 @@
+package utils;
+
+/**
+ * snapshot of the equipment validated by Setup for this session
+ * lets post-hop setup trust the session loadout instead of re-reading the equipment tab
+ */
+public class EquipmentFingerprint {
+    private final int bowId;
+    private final int arrowId;
+    private final int bellowsCount;
+
+    public EquipmentFingerprint(int bowId, int arrowId, int bellowsCount) {
+        this.bowId = bowId;
+        this.arrowId = arrowId;
+        this.bellowsCount = bellowsCount;
+    }
+
+    public int getArrowId() {
+        return arrowId;
+    }
+
+    public int getBellowsCount() {
+        return bellowsCount;
+    }
+
+    @Override
+    public String toString() {
+        return "bow=" + bowId + " arrows=" + arrowId + " bellows=" + bellowsCount;
+    }
+}
@@ -0,0 +1,59 @@
+package utils;
+
+/**
+ * measures the hop-to-first-attack interval, split into hop, setup and hunt phases
+ * hop = forceHop + stabilization, setup = Setup re-validation, hunt = setup done until first attack
+ */
+public class HopRecoveryTimer {
+    private long hopStart = 0;
+    private long hopDone = 0;
+    private long setupDone = 0;
+
+    private int completed = 0;
+    private long lastTotalMs = -1;
+    private long totalMsSum = 0;
+
+    public void hopStarted() {
+        hopStart = System.currentTimeMillis();
+        hopDone = 0;
+        setupDone = 0;
+    }
+
+    public void hopCompleted() {
+        if (hopStart > 0) hopDone = System.currentTimeMillis();
+    }
+
+    public void setupCompleted() {
+        if (hopDone > 0 && setupDone == 0) setupDone = System.currentTimeMillis();
+    }
+
+    /**
+     * close the interval on the first attack after a hop
+     * @return breakdown string if an interval was completed, null otherwise
+     */
+    public String firstAttack() {
+        if (hopStart == 0 || hopDone == 0 || setupDone == 0) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        lastTotalMs = now - hopStart;
+        totalMsSum += lastTotalMs;
+        completed++;
+        String breakdown = "total " + lastTotalMs + "ms (hop " + (hopDone - hopStart) +
+                "ms, setup " + (setupDone - hopDone) + "ms, hunt " + (now - setupDone) + "ms)";
+        hopStart = 0;
+        return breakdown;
+    }
+
+    public long getLastTotalMs() {
+        return lastTotalMs;
+    }
+
+    public long getAverageTotalMs() {
+        return completed == 0 ? -1 : totalMsSum / completed;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+}
@@ -0,0 +1,207 @@
+package utils;
+
+import com.osmb.api.location.area.impl.PolyArea;
+import com.osmb.api.location.position.types.WorldPosition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * slot planner over the toad drop area
+ * enumerates valid drop tiles once, tracks occupancy as a bitmap and precomputes
+ * the tile chain a 1-3 toad drop sequence covers (toad lands on our tile, then we auto-move one step)
+ * each drop cycle becomes a lookup instead of reactive corpse checks and collision re-walks
+ */
+public class ToadDropPlanner {
+
+    public static final int MAX_SEQUENCE = 3;
+
+    // auto-move step directions after a drop, in the order the game tries them (west first)
+    private static final int[] DIR_DX = {-1, 1, 0, 0};
+    private static final int[] DIR_DY = {0, 0, -1, 1};
+
+    private final int plane;
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+
+    // tile index lookup by (x - minX, y - minY), -1 when outside the drop area
+    private final int[] tileIndex;
+    private final List<WorldPosition> tiles;
+
+    // chainMask[dir][length - 1][startTile] - bitmap of tiles covered by the sequence, 0 if it leaves the area
+    private final long[][][] chainMask;
+
+    // direction we last saw the player auto-move after a drop
+    private int autoMoveDir = 0;
+
+    // tiles found blocked this cycle by something we don't track (e.g. "already placed" collision)
+    private long collisionMask = 0;
+
+    public ToadDropPlanner(PolyArea area, List<WorldPosition> vertices) {
+        int loX = Integer.MAX_VALUE, loY = Integer.MAX_VALUE;
+        int hiX = Integer.MIN_VALUE, hiY = Integer.MIN_VALUE;
+        for (WorldPosition v : vertices) {
+            loX = Math.min(loX, v.getX());
+            loY = Math.min(loY, v.getY());
+            hiX = Math.max(hiX, v.getX());
+            hiY = Math.max(hiY, v.getY());
+        }
+        this.plane = vertices.get(0).getPlane();
+        this.minX = loX;
+        this.minY = loY;
+        this.width = hiX - loX + 1;
+        this.height = hiY - loY + 1;
+
+        // enumerate valid tiles inside the polygon
+        this.tileIndex = new int[width * height];
+        List<WorldPosition> found = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                WorldPosition pos = new WorldPosition(minX + x, minY + y, plane);
+                if (area.contains(pos)) {
+                    tileIndex[y * width + x] = found.size();
+                    found.add(pos);
+                } else {
+                    tileIndex[y * width + x] = -1;
+                }
+            }
+        }
+        if (found.size() > Long.SIZE) {
+            throw new IllegalArgumentException("drop area too large for occupancy bitmap: " + found.size() + " tiles");
+        }
+        this.tiles = Collections.unmodifiableList(found);
+
+        // precompute the tiles each drop sequence lands toads on
+        this.chainMask = new long[DIR_DX.length][MAX_SEQUENCE][tiles.size()];
+        for (int dir = 0; dir < DIR_DX.length; dir++) {
+            for (int start = 0; start < tiles.size(); start++) {
+                WorldPosition startPos = tiles.get(start);
+                long mask = 0;
+                for (int len = 1; len <= MAX_SEQUENCE; len++) {
+                    int idx = indexOf(startPos.getX() + DIR_DX[dir] * (len - 1), startPos.getY() + DIR_DY[dir] * (len - 1));
+                    if (idx < 0) {
+                        // sequence walks out of the drop area - this and longer chains are invalid
+                        break;
+                    }
+                    mask |= 1L << idx;
+                    chainMask[dir][len - 1][start] = mask;
+                }
+            }
+        }
+    }
+
+    /**
+     * a planned drop sequence - walk to start, then drop count toads in a row
+     */
+    public static class Plan {
+        public final WorldPosition start;
+        public final int count;
+
+        Plan(WorldPosition start, int count) {
+            this.start = start;
+            this.count = count;
+        }
+    }
+
+    /**
+     * build occupancy bitmap from tracked toads and blocking positions (corpses)
+     * positions outside the drop area are ignored
+     */
+    public long buildOccupancy(Collection<WorldPosition> toads, Collection<WorldPosition> blockers) {
+        long mask = collisionMask;
+        for (WorldPosition pos : toads) {
+            int idx = indexOf(pos);
+            if (idx >= 0) mask |= 1L << idx;
+        }
+        for (WorldPosition pos : blockers) {
+            int idx = indexOf(pos);
+            if (idx >= 0) mask |= 1L << idx;
+        }
+        return mask;
+    }
+
+    /**
+     * check if a toad can be dropped on this tile
+     */
+    public boolean isFree(WorldPosition pos, long occupancy) {
+        int idx = indexOf(pos);
+        return idx >= 0 && (occupancy & (1L << idx)) == 0;
+    }
+
+    /**
+     * pick the closest start tile whose whole drop sequence is free
+     * falls back to shorter sequences when no free chain of the requested length exists
+     * @return plan, or null if every tile is occupied
+     */
+    public Plan plan(WorldPosition playerPos, int toads, long occupancy) {
+        int want = Math.max(1, Math.min(MAX_SEQUENCE, toads));
+        for (int len = want; len >= 1; len--) {
+            long[] masks = chainMask[autoMoveDir][len - 1];
+            int best = -1;
+            int bestDist = Integer.MAX_VALUE;
+            for (int start = 0; start < masks.length; start++) {
+                long mask = masks[start];
+                if (mask == 0 || (mask & occupancy) != 0) continue;
+                int dist = playerPos == null ? 0 : chebyshev(tiles.get(start), playerPos);
+                if (dist < bestDist) {
+                    bestDist = dist;
+                    best = start;
+                }
+            }
+            if (best >= 0) {
+                return new Plan(tiles.get(best), len);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * learn the auto-move direction from where the player ended up after a drop
+     */
+    public void observeAutoMove(WorldPosition before, WorldPosition after) {
+        if (before == null || after == null) return;
+        int dx = Integer.signum(after.getX() - before.getX());
+        int dy = Integer.signum(after.getY() - before.getY());
+        for (int dir = 0; dir < DIR_DX.length; dir++) {
+            if (DIR_DX[dir] == dx && DIR_DY[dir] == dy) {
+                autoMoveDir = dir;
+                return;
+            }
+        }
+    }
+
+    /**
+     * mark a tile as blocked by an untracked toad for the rest of this drop cycle
+     */
+    public void markCollision(WorldPosition pos) {
+        int idx = indexOf(pos);
+        if (idx >= 0) collisionMask |= 1L << idx;
+    }
+
+    /**
+     * clear per-cycle collision marks (untracked toads expire on their own)
+     */
+    public void resetCycle() {
+        collisionMask = 0;
+    }
+
+    private int indexOf(WorldPosition pos) {
+        if (pos == null || pos.getPlane() != plane) return -1;
+        return indexOf(pos.getX(), pos.getY());
+    }
+
+    private int indexOf(int x, int y) {
+        int lx = x - minX;
+        int ly = y - minY;
+        if (lx < 0 || ly < 0 || lx >= width || ly >= height) return -1;
+        return tileIndex[ly * width + lx];
+    }
+
+    private static int chebyshev(WorldPosition a, WorldPosition b) {
+        return Math.max(Math.abs(a.getX() - b.getX()), Math.abs(a.getY() - b.getY()));
+    }
+}
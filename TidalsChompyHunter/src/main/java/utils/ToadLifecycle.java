@@ -0,0 +1,143 @@
+package utils;
+
+import com.osmb.api.location.position.types.WorldPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * per-toad confidence model fed by drop, sighting and chompy spawn events
+ * lets toad verification skip pixel scans and menu probes for toads we're already sure about
+ */
+public class ToadLifecycle {
+
+    // confidence assigned on drop - menu confirmed drops are certain, pixel/fallback drops less so
+    private static final double CONFIRMED_DROP_CONFIDENCE = 1.0;
+    private static final double UNCONFIRMED_DROP_CONFIDENCE = 0.8;
+
+    // confidence lost per second since the toad was last seen (reaches verify threshold ~25s after a sighting)
+    private static final double DECAY_PER_SECOND = 0.01;
+
+    // each chompy spawn eats one toad - penalty is split between toads within this radius of the spawn
+    private static final int SPAWN_ATTRIBUTION_RADIUS = 4;
+    private static final double SPAWN_PENALTY = 0.6;
+
+    // below this, a pixel scan is needed before we trust the toad again
+    public static final double VERIFY_THRESHOLD = 0.75;
+
+    // every spawn candidate ends at or below this, so whichever toad was eaten gets re-verified
+    private static final double SPAWN_CANDIDATE_CAP = VERIFY_THRESHOLD - 0.05;
+
+    // below this, a missed pixel scan removes the toad without an expensive menu probe
+    public static final double MENU_PROBE_THRESHOLD = 0.5;
+
+    private static class ToadRecord {
+        long lastSeenAt;
+        double baseConfidence;
+
+        ToadRecord(long droppedAt, double confidence) {
+            this.lastSeenAt = droppedAt;
+            this.baseConfidence = confidence;
+        }
+    }
+
+    private final Map<WorldPosition, ToadRecord> records = new ConcurrentHashMap<>();
+
+    /**
+     * record a toad drop at position
+     * @param confirmed true if the drop was confirmed via menu entry
+     */
+    public void onDropped(WorldPosition pos, boolean confirmed) {
+        if (pos == null) return;
+        double confidence = confirmed ? CONFIRMED_DROP_CONFIDENCE : UNCONFIRMED_DROP_CONFIDENCE;
+        records.put(pos, new ToadRecord(System.currentTimeMillis(), confidence));
+    }
+
+    /**
+     * record a successful sighting (pixel or menu) - restores full confidence
+     */
+    public void onSighted(WorldPosition pos) {
+        ToadRecord record = records.get(pos);
+        if (record == null) return;
+        record.lastSeenAt = System.currentTimeMillis();
+        record.baseConfidence = CONFIRMED_DROP_CONFIDENCE;
+    }
+
+    /**
+     * record a chompy spawn - one nearby toad was consumed to spawn it
+     * penalty is split evenly between candidate toads near the spawn tile, and every candidate
+     * drops below the verify threshold - we can't tell which one was eaten
+     */
+    public void onChompySpawn(WorldPosition spawnPos) {
+        if (spawnPos == null || records.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        List<ToadRecord> candidates = new ArrayList<>();
+        for (Map.Entry<WorldPosition, ToadRecord> entry : records.entrySet()) {
+            WorldPosition pos = entry.getKey();
+            int dx = Math.abs(pos.getX() - spawnPos.getX());
+            int dy = Math.abs(pos.getY() - spawnPos.getY());
+            if (pos.getPlane() == spawnPos.getPlane() && Math.max(dx, dy) <= SPAWN_ATTRIBUTION_RADIUS) {
+                candidates.add(entry.getValue());
+            }
+        }
+
+        // no toad close enough - spread the penalty across all tracked toads
+        if (candidates.isEmpty()) {
+            candidates.addAll(records.values());
+        }
+
+        double share = SPAWN_PENALTY / candidates.size();
+        for (ToadRecord record : candidates) {
+            // fold decay into the base so the penalty applies to the current estimate
+            double penalised = decayed(record, now) - share;
+            record.baseConfidence = Math.max(0, Math.min(SPAWN_CANDIDATE_CAP, penalised));
+            record.lastSeenAt = now;
+        }
+    }
+
+    /**
+     * forget a toad (eaten, expired or world changed)
+     */
+    public void forget(WorldPosition pos) {
+        if (pos != null) {
+            records.remove(pos);
+        }
+    }
+
+    public void clear() {
+        records.clear();
+    }
+
+    /**
+     * current confidence that the toad is still on the ground (0-1)
+     * untracked positions return 0
+     */
+    public double getConfidence(WorldPosition pos) {
+        ToadRecord record = records.get(pos);
+        if (record == null) return 0;
+        return decayed(record, System.currentTimeMillis());
+    }
+
+    /**
+     * check if a toad needs a pixel scan - false means we trust the model and skip it
+     */
+    public boolean needsVerification(WorldPosition pos) {
+        return getConfidence(pos) < VERIFY_THRESHOLD;
+    }
+
+    /**
+     * check if a missed pixel scan is worth confirming with a right-click menu probe
+     * low confidence toads are removed straight away instead
+     */
+    public boolean worthMenuProbe(WorldPosition pos) {
+        return getConfidence(pos) >= MENU_PROBE_THRESHOLD;
+    }
+
+    private double decayed(ToadRecord record, long now) {
+        double seconds = Math.max(0, now - record.lastSeenAt) / 1000.0;
+        return Math.max(0, Math.min(1, record.baseConfidence - seconds * DECAY_PER_SECOND));
+    }
+}
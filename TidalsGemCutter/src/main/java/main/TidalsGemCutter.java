@@ -13,6 +13,9 @@ import tasks.Bank;
 import tasks.Process;
 import tasks.Setup;
 import utilities.FreeTelemetrySupport;
+import utils.GemStockIndex;
+import utils.LoadPipeline;
+import utils.SupplyForecast;
 import utils.Task;
 import utils.XPTracking;
 
@@ -73,6 +76,19 @@ public class TidalsGemCutter extends Script {
     );
 
     public static int craftCount = 0;
+
+    // bank stock of every gem we can work with - one read when the bank opens, then our own withdrawals
+    public static GemStockIndex stockIndex;
+    private boolean sessionPlanLogged = false;
+
+    // banked gem run-out eta, recorded on every bank visit
+    public static SupplyForecast supplyForecast;
+    public static final String SUPPLY_GEMS = "gems";
+    // ~2 ticks per gem plus a bank trip shared over 27 gems until a rate is measured
+    private static final double PRIOR_GEMS_PER_HOUR = 2480;
+
+    // uncut -> cut -> tips stage timing per inventory load (bolt tips from uncut only)
+    public static LoadPipeline loadPipeline;
     public static String task = "Initialize";
     public static long startTime = System.currentTimeMillis();
 
@@ -103,7 +119,7 @@ public class TidalsGemCutter extends Script {
 
     private com.osmb.api.visual.image.Image logoImage = null;
 
-    private static final Map<Integer, Integer> UNCUT_TO_CUT = Map.of(
+    public static final Map<Integer, Integer> UNCUT_TO_CUT = Map.of(
             ItemID.UNCUT_OPAL, ItemID.OPAL,
             ItemID.UNCUT_JADE, ItemID.JADE,
             ItemID.UNCUT_RED_TOPAZ, ItemID.RED_TOPAZ,
@@ -120,7 +136,7 @@ public class TidalsGemCutter extends Script {
     );
     public static int crushedCount = 0;
 
-    private static final Map<Integer, Integer> CUT_TO_BOLT_TIPS = Map.of(
+    public static final Map<Integer, Integer> CUT_TO_BOLT_TIPS = Map.of(
             ItemID.SAPPHIRE, ItemID.SAPPHIRE_BOLT_TIPS,
             ItemID.EMERALD, ItemID.EMERALD_BOLT_TIPS,
             ItemID.RUBY, ItemID.RUBY_BOLT_TIPS,
@@ -141,22 +157,46 @@ public class TidalsGemCutter extends Script {
     }
 
     public boolean advanceToNextGem() {
-        Set<Integer> allUncutIds = new HashSet<>(GEM_PRIORITY);
-        com.osmb.api.item.ItemGroupResult bankResult = getWidgetManager().getBank().search(allUncutIds);
-        if (bankResult == null) return false;
-
-        for (int uncutId : GEM_PRIORITY) {
-            if (uncutId == selectedUncutGemID) continue;
-            if (bankResult.contains(uncutId)) {
-                String oldName = getItemManager().getItemName(selectedUncutGemID);
-                selectedUncutGemID = uncutId;
-                selectedCutGemID = UNCUT_TO_CUT.getOrDefault(uncutId, 0);
-                String newName = getItemManager().getItemName(selectedUncutGemID);
-                log("INFO", "Switched from " + oldName + " to " + newName);
-                return true;
-            }
+        // the index was captured (or confirmed empty) by the bank read that ran us out
+        if (!stockIndex.isCaptured()) return false;
+
+        int uncutId = stockIndex.nextInStock(GEM_PRIORITY, selectedUncutGemID);
+        if (uncutId < 0) return false;
+
+        String oldName = getItemManager().getItemName(selectedUncutGemID);
+        selectedUncutGemID = uncutId;
+        selectedCutGemID = UNCUT_TO_CUT.getOrDefault(uncutId, 0);
+        String newName = getItemManager().getItemName(selectedUncutGemID);
+        log("INFO", "Switched from " + oldName + " to " + newName);
+        return true;
+    }
+
+    // gems still in the bank for this session - every uncut in all uncuts mode, else the one we withdraw
+    public int getBankedGemsLeft() {
+        if (stockIndex == null || !stockIndex.isCaptured()) return -1;
+        if (allUncutsMode) return stockIndex.total(GEM_PRIORITY);
+        return stockIndex.getCount((useBankedGems && makeBoltTips) ? selectedCutGemID : selectedUncutGemID);
+    }
+
+    /**
+     * log the whole session's gem order and eta once the index is captured
+     */
+    public void logSessionPlan() {
+        if (sessionPlanLogged || getBankedGemsLeft() < 0) return;
+        sessionPlanLogged = true;
+
+        StringBuilder order = new StringBuilder();
+        List<Integer> planned = allUncutsMode ? GEM_PRIORITY
+                : List.of((useBankedGems && makeBoltTips) ? selectedCutGemID : selectedUncutGemID);
+        for (int id : planned) {
+            int count = stockIndex.getCount(id);
+            if (count <= 0) continue;
+            if (order.length() > 0) order.append(" -> ");
+            order.append(getItemManager().getItemName(id)).append(" x").append(count);
         }
-        return false;
+        int left = getBankedGemsLeft();
+        log("INFO", "Session plan: " + (order.length() > 0 ? order : "nothing banked")
+                + " (" + left + " gems, ETA " + formatRuntime(supplyForecast.msUntilDepleted(SUPPLY_GEMS)) + ")");
     }
 
     @Override
@@ -301,6 +341,14 @@ public class TidalsGemCutter extends Script {
             queueSendWebhook();
         }
 
+        Set<Integer> indexedGems = new LinkedHashSet<>(GEM_PRIORITY);
+        indexedGems.addAll(UNCUT_TO_CUT.values());
+        indexedGems.addAll(CUT_TO_BOLT_TIPS.values());
+        stockIndex = new GemStockIndex(indexedGems);
+        supplyForecast = new SupplyForecast();
+        supplyForecast.track(SUPPLY_GEMS, PRIOR_GEMS_PER_HOUR);
+        loadPipeline = (makeBoltTips && !useBankedGems) ? new LoadPipeline(this) : null;
+
         tasks = Arrays.asList(
                 new Setup(this),
                 new Process(this),
@@ -447,7 +495,9 @@ public class TidalsGemCutter extends Script {
         ensureLogoLoaded();
         int logoHeight = (logoImage != null) ? logoImage.height + logoBottomGap : 0;
 
-        int totalLines = 11 + (crushedCount > 0 ? 1 : 0);  // extra line for crushed gems
+        int gemsLeft = getBankedGemsLeft();
+        boolean showPipeline = loadPipeline != null && loadPipeline.getLoads() > 0;
+        int totalLines = 11 + (crushedCount > 0 ? 1 : 0) + (gemsLeft >= 0 ? 1 : 0) + (showPipeline ? 1 : 0);  // extra lines for crushed gems, bank stock, pipeline
         int separatorCount = 3;
         int separatorOverhead = separatorCount * 12;
         int bottomPadding = 1;
@@ -523,6 +573,12 @@ public class TidalsGemCutter extends Script {
         String craftLabel = makeBoltTips ? "Tips made" : "Gems cut";
         drawStatLine(c, innerX, innerWidth, paddingX, curY, craftLabel, itemsCraftedText, textMuted.getRGB(), valueGreen.getRGB());
 
+        // measured bank -> cut -> tips load cycle
+        if (showPipeline) {
+            curY += lineGap;
+            drawStatLine(c, innerX, innerWidth, paddingX, curY, "Tips/hr (est)", intFmt.format(loadPipeline.getTipsPerHour()), textMuted.getRGB(), accentGold.getRGB());
+        }
+
         // show crushed count for semi-precious gems
         if (crushedCount > 0) {
             curY += lineGap;
@@ -530,6 +586,14 @@ public class TidalsGemCutter extends Script {
             drawStatLine(c, innerX, innerWidth, paddingX, curY, "Crushed", intFmt.format(crushedCount), textMuted.getRGB(), warningOrange.getRGB());
         }
 
+        // banked gems left and time to work through them
+        if (gemsLeft >= 0) {
+            curY += lineGap;
+            long gemsMsLeft = supplyForecast.msUntilDepleted(SUPPLY_GEMS);
+            String stockText = intFmt.format(gemsLeft) + (gemsMsLeft >= 0 ? " (ETA " + formatRuntime(gemsMsLeft) + ")" : "");
+            drawStatLine(c, innerX, innerWidth, paddingX, curY, "Banked", stockText, textMuted.getRGB(), textLight.getRGB());
+        }
+
         curY += lineGap;
         drawStatLine(c, innerX, innerWidth, paddingX, curY, "Task", String.valueOf(task), textMuted.getRGB(), textLight.getRGB());
 
@@ -744,20 +808,27 @@ public class TidalsGemCutter extends Script {
             return;
         }
 
+        Map<String, Integer> stats = new HashMap<>(Map.of(
+                "gp", 0,
+                "xp", xpIncrement,
+                "gemsCut", craftIncrement
+        ));
+        // gauge, not an increment - only sent once the first bank visit has given a forecast
+        int supplyMinutesLeft = supplyForecast != null ? supplyForecast.minutesUntilDepleted() : -1;
+        if (supplyMinutesLeft >= 0) {
+            stats.put("supplyMinutesLeft", supplyMinutesLeft);
+        }
+
         boolean sent = FreeTelemetrySupport.sendHeartbeat(
                 obf.Secrets.DASHBOARD_BASE_URL,
                 scriptName,
                 sessionId,
                 runtimeSecs,
-                Map.of(
-                        "gp", 0,
-                        "xp", xpIncrement,
-                        "gemsCut", craftIncrement
-                ),
+                stats,
                 message -> log("STATS", message)
         );
         if (sent) {
-            log("STATS", "Telemetry reported: xp=" + xpIncrement + ", gems=" + craftIncrement + ", runtime=" + runtimeSecs + "s");
+            log("STATS", "Telemetry reported: xp=" + xpIncrement + ", gems=" + craftIncrement + ", runtime=" + runtimeSecs + "s, supply=" + supplyMinutesLeft + "m");
         }
     }
 
@@ -8,9 +8,10 @@ import com.osmb.api.script.Script;
 import com.osmb.api.utils.RandomUtils;
 import com.osmb.api.utils.timing.Timer;
 import main.TidalsGemCutter;
+import utils.BankTransaction;
+import utils.LoadPipeline;
 import utils.Task;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -20,8 +21,19 @@ import static main.TidalsGemCutter.*;
 
 public class Bank extends Task {
 
+    // keep the chisel, fill the rest with the gem we're working on
+    private final BankTransaction transaction;
+
+    // bank object resolved by Process in the last ticks of a batch, used if we haven't moved since
+    private static final long PREFETCH_TTL_MS = 10000;
+    private static RSObject prefetchedBank = null;
+    private static WorldPosition prefetchedFrom = null;
+    private static long prefetchedAt = 0;
+
     public Bank(Script script) {
         super(script);
+        this.transaction = new BankTransaction(script, Set.of(ItemID.CHISEL));
+        this.transaction.setStockIndex(stockIndex);
     }
 
     @Override
@@ -54,6 +66,8 @@ public class Bank extends Task {
     @Override
     public boolean execute() {
         task = "Banking";
+        transaction.beginTrip();
+        if (loadPipeline != null) loadPipeline.startStage(LoadPipeline.Stage.BANK);
 
         // state: bank not visible? open it
         if (!script.getWidgetManager().getBank().isVisible()) {
@@ -63,33 +77,14 @@ public class Bank extends Task {
 
         // determine what items we're working with
         int itemToWithdraw = (useBankedGems && makeBoltTips) ? selectedCutGemID : selectedUncutGemID;
-        String itemName = script.getItemManager().getItemName(itemToWithdraw);
-
-        // state: have items to deposit? deposit them (keep chisel)
-        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Collections.emptySet());
-        if (inv == null) {
-            script.log(getClass(), "inventory not visible");
-            return false;
-        }
-
-        // check if we have anything besides chisel to deposit
-        boolean hasItemsToDeposit = inv.getFreeSlots() < 27; // 27 = full minus chisel
-        if (hasItemsToDeposit) {
-            task = "Deposit";
-            script.getWidgetManager().getBank().depositAll(Set.of(ItemID.CHISEL));
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(300, 800, 0.002));
-            return false;
-        }
+        transaction.setFillItem(itemToWithdraw);
 
-        // state: check if bank has items we need
-        task = "Check bank";
-        ItemGroupResult bankResult = script.getWidgetManager().getBank().search(Set.of(itemToWithdraw));
-        if (bankResult == null) {
-            script.log(getClass(), "bank not ready");
-            return false;
-        }
+        // state: bank open - deposit, withdraw and close in one verified pass
+        task = "Bank transaction";
+        BankTransaction.Result result = transaction.run();
 
-        if (!bankResult.contains(itemToWithdraw)) {
+        if (result == BankTransaction.Result.OUT_OF_STOCK) {
+            String itemName = script.getItemManager().getItemName(itemToWithdraw);
             if (allUncutsMode) {
                 script.log(getClass(), "out of " + itemName + ", trying next gem type");
                 if (((TidalsGemCutter) script).advanceToNextGem()) {
@@ -99,43 +94,61 @@ public class Bank extends Task {
             } else {
                 script.log(getClass(), "out of " + itemName + ", stopping");
             }
+            transaction.abandonTrip();
             script.stop();
             return false;
         }
 
-        int bankCount = bankResult.getAmount(itemToWithdraw);
-        script.log(getClass(), bankCount + " " + itemName + " in bank");
-
-        // state: need to withdraw? withdraw items
-        int slots = inv.getFreeSlots();
-        if (slots > 0) {
-            task = "Withdraw";
-            if (!script.getWidgetManager().getBank().withdraw(itemToWithdraw, slots)) {
-                script.log(getClass(), "withdraw failed");
-                return false;
-            }
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(200, 600, 0.002));
-            return false;
+        if (result == BankTransaction.Result.DONE) {
+            if (loadPipeline != null) loadPipeline.endStage(LoadPipeline.Stage.BANK);
+            String itemName = script.getItemManager().getItemName(itemToWithdraw);
+            script.log(getClass(), transaction.getLastBankCount() + " " + itemName + " in bank, withdrew " + transaction.getLastWithdrawn());
+            supplyForecast.record(SUPPLY_GEMS, ((TidalsGemCutter) script).getBankedGemsLeft());
+            ((TidalsGemCutter) script).logSessionPlan();
         }
-
-        // state: done banking, close and let other tasks take over
-        task = "Close bank";
-        script.getWidgetManager().getBank().close();
-        script.pollFramesUntil(() -> !script.getWidgetManager().getBank().isVisible(), RandomUtils.weightedRandom(2500, 4000, 0.002));
         return false;
     }
 
+    /**
+     * resolve the closest bank ahead of time so the trip can open it without a scene query
+     */
+    public static void prefetchBank(Script script) {
+        RSObject bank = findClosestBank(script);
+        if (bank == null) return;
+        prefetchedBank = bank;
+        prefetchedFrom = script.getWorldPosition();
+        prefetchedAt = System.currentTimeMillis();
+    }
+
+    private static RSObject takePrefetchedBank(Script script) {
+        RSObject bank = prefetchedBank;
+        boolean fresh = bank != null
+                && System.currentTimeMillis() - prefetchedAt <= PREFETCH_TTL_MS
+                && Objects.equals(script.getWorldPosition(), prefetchedFrom);
+        prefetchedBank = null;
+        prefetchedFrom = null;
+        return fresh ? bank : null;
+    }
+
+    private static RSObject findClosestBank(Script script) {
+        List<RSObject> banks = script.getObjectManager().getObjects(TidalsGemCutter.bankQuery);
+        if (banks.isEmpty()) return null;
+        return (RSObject) script.getUtils().getClosest(banks);
+    }
+
     private void openBank() {
         task = "Open bank";
-        script.log(getClass(), "finding bank");
 
-        List<RSObject> banks = script.getObjectManager().getObjects(TidalsGemCutter.bankQuery);
-        if (banks.isEmpty()) {
+        RSObject bank = takePrefetchedBank(script);
+        if (bank == null) {
+            script.log(getClass(), "finding bank");
+            bank = findClosestBank(script);
+        }
+        if (bank == null) {
             script.log(getClass(), "no bank found");
             return;
         }
 
-        RSObject bank = (RSObject) script.getUtils().getClosest(banks);
         if (!bank.interact(TidalsGemCutter.BANK_ACTIONS)) {
             script.log(getClass(), "bank interact failed");
             return;
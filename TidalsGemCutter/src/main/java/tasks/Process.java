@@ -7,6 +7,10 @@ import com.osmb.api.ui.chatbox.dialogue.DialogueType;
 import com.osmb.api.utils.RandomUtils;
 import com.osmb.api.utils.timing.Timer;
 import com.osmb.api.script.Script;
+import utils.CraftingSession;
+import utils.InventoryCounter;
+import utils.LoadPipeline;
+import utils.MakeXPredictor;
 import utils.Task;
 
 import java.util.Set;
@@ -28,8 +32,23 @@ public class Process extends Task {
     private int lastProducedCount;
     private int lastCrushedCount;
 
+    // one inventory recognition per poll for everything the batch tracks
+    private final InventoryCounter counter;
+    private int craftingPolls;
+
+    // batch end prediction - per stage, cutting and tips run at different speeds
+    private static final long BANK_PREFETCH_LEAD_MS = 1200; // last ~2 ticks
+    private final MakeXPredictor cutPredictor = new MakeXPredictor();
+    private final MakeXPredictor tipsPredictor = new MakeXPredictor();
+    private boolean bankPrefetched;
+
+    // restarts the batch in place after a level up
+    private final CraftingSession session;
+
     public Process(Script script) {
         super(script);
+        this.counter = new InventoryCounter(script);
+        this.session = new CraftingSession(script);
     }
 
     @Override
@@ -93,11 +112,43 @@ public class Process extends Task {
     }
 
     private boolean startCrafting(ItemGroupResult inv, int consumedID, int producedID, String logMsg) {
+        if (openMakeX(inv, consumedID)) {
+            // transition to crafting state
+            script.log(getClass(), logMsg);
+            craftingConsumedID = consumedID;
+            craftingProducedID = producedID;
+            craftingIsCrushable = CRUSHABLE_GEMS.contains(consumedID);
+            craftingTimer = new Timer();
+            craftingTimeout = RandomUtils.gaussianRandom(70000, 80000, 74000, 2000);
+            if (loadPipeline != null) {
+                loadPipeline.startStage(producedID == selectedBoltTipID ? LoadPipeline.Stage.TIPS : LoadPipeline.Stage.CUT);
+            }
+            if (craftingIsCrushable) {
+                counter.track(consumedID, producedID, CRUSHED_GEM_ID);
+            } else {
+                counter.track(consumedID, producedID);
+            }
+            counter.read();
+            craftingPolls = 0;
+            lastProducedCount = counter.count(producedID);
+            lastCrushedCount = craftingIsCrushable ? counter.count(CRUSHED_GEM_ID) : 0;
+            predictor().start(counter.count(consumedID), System.currentTimeMillis());
+            bankPrefetched = false;
+            state = ProcessState.CRAFTING;
+            task = "Processing";
+            return true; // yield - check crafting progress next poll
+        }
+
+        return false;
+    }
+
+    // unselect, use chisel on the gem and pick the product - true once make-x is running
+    private boolean openMakeX(ItemGroupResult inv, int consumedID) {
         if (!script.getWidgetManager().getInventory().unSelectItemIfSelected()) {
             return false;
         }
 
-        boolean interacted = interactWithItems(inv, consumedID == selectedCutGemID ? selectedCutGemID : consumedID);
+        boolean interacted = interactWithItems(inv, consumedID);
 
         if (!interacted) {
             script.log(getClass(), "interact failed");
@@ -106,62 +157,69 @@ public class Process extends Task {
 
         task = "Select item";
         DialogueType dialogueType = script.getWidgetManager().getDialogue().getDialogueType();
-        if (dialogueType == DialogueType.ITEM_OPTION) {
-            int selectID = (consumedID == selectedCutGemID && makeBoltTips) ? selectedBoltTipID : consumedID;
-            boolean selected = script.getWidgetManager().getDialogue().selectItem(selectID);
-            if (!selected) {
-                script.log(getClass(), "selection failed");
-                return false;
-            }
+        if (dialogueType != DialogueType.ITEM_OPTION) {
+            return false;
+        }
 
-            // transition to crafting state
-            script.log(getClass(), logMsg);
-            craftingConsumedID = consumedID;
-            craftingProducedID = producedID;
-            craftingIsCrushable = CRUSHABLE_GEMS.contains(consumedID);
-            craftingTimer = new Timer();
-            craftingTimeout = RandomUtils.gaussianRandom(70000, 80000, 74000, 2000);
-            lastProducedCount = getItemCount(producedID);
-            lastCrushedCount = craftingIsCrushable ? getItemCount(CRUSHED_GEM_ID) : 0;
-            state = ProcessState.CRAFTING;
-            task = "Processing";
-            return true; // yield - check crafting progress next poll
+        int selectID = (consumedID == selectedCutGemID && makeBoltTips) ? selectedBoltTipID : consumedID;
+        boolean selected = script.getWidgetManager().getDialogue().selectItem(selectID);
+        if (!selected) {
+            script.log(getClass(), "selection failed");
+            return false;
         }
+        return true;
+    }
 
-        return false;
+    // level up restart - same sequence as a fresh batch, from a fresh inventory read
+    private boolean restartMakeX() {
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(craftingConsumedID, ItemID.CHISEL));
+        if (inv == null || !inv.contains(craftingConsumedID)) {
+            return false;
+        }
+        return openMakeX(inv, craftingConsumedID);
     }
 
     // called each poll while crafting - one check per frame, then yield
     private boolean pollCrafting() {
         task = "Processing";
 
-        // level up interrupts crafting
-        DialogueType type = script.getWidgetManager().getDialogue().getDialogueType();
-        if (type == DialogueType.TAP_HERE_TO_CONTINUE) {
+        // level up interrupts crafting - restart the same batch without going back through idle
+        if (session.isLevelUp()) {
             script.log(getClass(), "level up");
-            script.getWidgetManager().getDialogue().continueChatDialogue();
-            state = ProcessState.IDLE;
+            if (session.recover(this::restartMakeX)) {
+                craftingTimer = new Timer();
+                predictor().start(counter.count(craftingConsumedID), System.currentTimeMillis());
+                return true;
+            }
+            endCrafting();
             return true; // re-poll to restart crafting
         }
 
         // timeout
         if (craftingTimer.timeElapsed() > craftingTimeout) {
             script.log(getClass(), "crafting timeout");
-            state = ProcessState.IDLE;
+            endCrafting();
             return false;
         }
 
+        // one read for produced, crushed and remaining counts
+        craftingPolls++;
+        boolean read = counter.read();
+
         // track crafted items
-        int currentCount = getItemCount(craftingProducedID);
+        int currentCount = counter.count(craftingProducedID);
         if (currentCount > lastProducedCount) {
             int crafted = currentCount - lastProducedCount;
             craftCount += crafted;
             lastProducedCount = currentCount;
+            if (loadPipeline != null && craftingProducedID == selectedBoltTipID) {
+                loadPipeline.onTipsMade(crafted);
+            }
         }
 
         // track crushed gems
         if (craftingIsCrushable) {
-            int currentCrushed = getItemCount(CRUSHED_GEM_ID);
+            int currentCrushed = counter.count(CRUSHED_GEM_ID);
             if (currentCrushed > lastCrushedCount) {
                 int newCrushed = currentCrushed - lastCrushedCount;
                 crushedCount += newCrushed;
@@ -170,11 +228,31 @@ public class Process extends Task {
             }
         }
 
+        // last ticks of a batch that ends in a bank trip - resolve the bank now so it opens straight away
+        if (read) {
+            long now = System.currentTimeMillis();
+            MakeXPredictor predictor = predictor();
+            predictor.onRemaining(counter.count(craftingConsumedID), now);
+            if (!bankPrefetched && endsInBankTrip() && counter.count(craftingConsumedID) > 0
+                    && predictor.predictMsLeft(now) <= BANK_PREFETCH_LEAD_MS) {
+                Bank.prefetchBank(script);
+                bankPrefetched = true;
+                if (verboseLogging) {
+                    script.log(getClass(), String.format("batch ends in ~%dms (%.0fms/item) - bank pre-resolved",
+                            predictor.predictMsLeft(now), predictor.getIntervalMs()));
+                }
+            }
+        }
+
         // check if done - no more consumable items
-        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(craftingConsumedID));
-        if (inv == null || !inv.contains(craftingConsumedID)) {
+        if (!read || counter.count(craftingConsumedID) == 0) {
             script.log(getClass(), "crafting complete");
-            state = ProcessState.IDLE;
+            endCrafting();
+
+            // pipelined bolt tips: go straight from cutting into tips without a trip through the executor
+            if (loadPipeline != null && craftingProducedID == selectedCutGemID) {
+                return startTipsStage();
+            }
             return false; // done, let executor re-evaluate (probably bank next)
         }
 
@@ -182,6 +260,34 @@ public class Process extends Task {
         return true;
     }
 
+    private MakeXPredictor predictor() {
+        return craftingProducedID == selectedBoltTipID ? tipsPredictor : cutPredictor;
+    }
+
+    // cutting ahead of the tips stage goes straight on to tips, everything else banks next
+    private boolean endsInBankTrip() {
+        return !(makeBoltTips && craftingProducedID == selectedCutGemID);
+    }
+
+    private void endCrafting() {
+        state = ProcessState.IDLE;
+        if (verboseLogging) {
+            script.log(getClass(), String.format("batch: %d polls, %d inventory reads (avg %.2fms)",
+                    craftingPolls, counter.getReads(), counter.getAverageReadMs()));
+        }
+        if (loadPipeline != null) {
+            loadPipeline.endStage(craftingProducedID == selectedBoltTipID ? LoadPipeline.Stage.TIPS : LoadPipeline.Stage.CUT);
+        }
+    }
+
+    private boolean startTipsStage() {
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(selectedCutGemID, ItemID.CHISEL));
+        if (inv == null || !inv.contains(selectedCutGemID)) {
+            return false;
+        }
+        return startCrafting(inv, selectedCutGemID, selectedBoltTipID, "making bolt tips");
+    }
+
     private boolean interactWithItems(ItemGroupResult inv, int gemID) {
         boolean firstIsGem = RandomUtils.uniformRandom(2) == 0;
 
@@ -211,12 +317,4 @@ public class Process extends Task {
         task = "Wait dialogue";
         return script.pollFramesHuman(condition, RandomUtils.gaussianRandom(3000, 6000, 4000, 800));
     }
-
-    private int getItemCount(int itemID) {
-        ItemGroupResult snapshot = script.getWidgetManager().getInventory().search(Set.of(itemID));
-        if (snapshot == null || !snapshot.contains(itemID)) {
-            return 0;
-        }
-        return snapshot.getAmount(itemID);
-    }
 }
@@ -0,0 +1,233 @@
+package utils;
+
+import com.osmb.api.item.ItemGroupResult;
+import com.osmb.api.script.Script;
+import com.osmb.api.utils.RandomUtils;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * declarative bank trip - keep these items, fill every other slot with one item
+ * plans the deposit/withdraw/close operations from a single inventory read and the stock index
+ * (one bank read to capture it, none while it's current),
+ * confirms each operation by polling for its result instead of waiting a fixed time,
+ * and times the whole trip from the first banking poll to the bank closing
+ */
+public class BankTransaction {
+
+    public enum Result {
+        DONE,           // inventory is in the end state and the bank is closed
+        OUT_OF_STOCK,   // bank has none of the fill item
+        RETRY           // an operation didn't confirm - re-plan from fresh reads next poll
+    }
+
+    private static final int INVENTORY_SLOTS = 28;
+    // consecutive withdraws that fail or don't confirm before the item is treated as out of stock
+    private static final int MAX_WITHDRAW_ATTEMPTS = 3;
+
+    private final Script script;
+    private final Set<Integer> keepIds;
+    private int fillId;
+    private GemStockIndex stockIndex;
+
+    // last bank read - stock of the fill item before our withdrawal
+    private int lastBankCount = 0;
+    private int lastWithdrawn = 0;
+    private int failedWithdraws = 0;
+
+    // trip timing
+    private long tripStartedAt = 0;
+    private long lastTripMs = 0;
+    private long totalTripMs = 0;
+    private int trips = 0;
+
+    public BankTransaction(Script script, Set<Integer> keepIds) {
+        this.script = script;
+        this.keepIds = Collections.unmodifiableSet(keepIds);
+    }
+
+    public void setFillItem(int itemId) {
+        this.fillId = itemId;
+    }
+
+    /**
+     * bank counts come from the index instead of a search every trip
+     */
+    public void setStockIndex(GemStockIndex stockIndex) {
+        this.stockIndex = stockIndex;
+    }
+
+    /**
+     * start the trip clock - safe to call every banking poll, only the first call counts
+     */
+    public void beginTrip() {
+        if (tripStartedAt == 0) {
+            tripStartedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * bring the inventory to the end state - call while the bank is open
+     */
+    public Result run() {
+        beginTrip();
+
+        // plan: one inventory read, bank stock from the index (or one bank read)
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Collections.emptySet());
+        if (inv == null) {
+            script.log(getClass(), "inventory not visible");
+            return Result.RETRY;
+        }
+        int bankCount = readBankCount();
+        if (bankCount < 0) {
+            script.log(getClass(), "bank not ready");
+            return Result.RETRY;
+        }
+
+        int keepSlots = countKeepSlots(inv);
+        int targetFree = INVENTORY_SLOTS - keepSlots;
+        int fillHeld = inv.getAmount(fillId);
+        // anything that isn't a kept item or already the fill item has to go
+        boolean needsDeposit = inv.getFreeSlots() + fillHeld < targetFree;
+        int toWithdraw = needsDeposit ? targetFree : inv.getFreeSlots();
+
+        lastBankCount = bankCount;
+        if (toWithdraw > 0 && lastBankCount == 0) {
+            return Result.OUT_OF_STOCK;
+        }
+
+        // deposit everything but the kept items
+        if (needsDeposit) {
+            if (!script.getWidgetManager().getBank().depositAll(keepIds)) {
+                script.log(getClass(), "deposit failed");
+                return Result.RETRY;
+            }
+            boolean deposited = script.pollFramesHuman(() -> freeSlots() == targetFree,
+                    RandomUtils.weightedRandom(2000, 3000, 0.002));
+            if (!deposited) {
+                script.log(getClass(), "deposit not confirmed");
+                return Result.RETRY;
+            }
+        }
+
+        // fill the free slots
+        lastWithdrawn = 0;
+        if (toWithdraw > 0) {
+            int freeBefore = needsDeposit ? targetFree : inv.getFreeSlots();
+            if (!script.getWidgetManager().getBank().withdraw(fillId, toWithdraw)) {
+                return withdrawFailed("withdraw failed");
+            }
+            boolean withdrawn = script.pollFramesHuman(() -> freeSlots() < freeBefore,
+                    RandomUtils.weightedRandom(2000, 3000, 0.002));
+            if (!withdrawn) {
+                return withdrawFailed("withdraw not confirmed");
+            }
+            failedWithdraws = 0;
+            int freeAfter = freeSlots();
+            lastWithdrawn = freeAfter >= 0 ? freeBefore - freeAfter : Math.min(toWithdraw, lastBankCount);
+            if (stockIndex != null) stockIndex.onWithdrawn(fillId, lastWithdrawn);
+        }
+
+        // close and confirm
+        script.getWidgetManager().getBank().close();
+        boolean closed = script.pollFramesUntil(() -> !script.getWidgetManager().getBank().isVisible(),
+                RandomUtils.weightedRandom(2500, 4000, 0.002));
+        if (!closed) {
+            script.log(getClass(), "bank didn't close");
+            return Result.RETRY;
+        }
+
+        endTrip();
+        return Result.DONE;
+    }
+
+    /**
+     * forget an unfinished trip (e.g. the script is stopping out of stock)
+     */
+    public void abandonTrip() {
+        tripStartedAt = 0;
+    }
+
+    public int getLastBankCount() {
+        return lastBankCount;
+    }
+
+    public int getLastWithdrawn() {
+        return lastWithdrawn;
+    }
+
+    public long getLastTripMs() {
+        return lastTripMs;
+    }
+
+    public long getAverageTripMs() {
+        return trips == 0 ? 0 : totalTripMs / trips;
+    }
+
+    public int getTrips() {
+        return trips;
+    }
+
+    // maybe the index is stale - recapture next poll, and stop retrying a withdraw that keeps failing
+    private Result withdrawFailed(String reason) {
+        failedWithdraws++;
+        if (stockIndex != null) stockIndex.invalidate();
+        if (failedWithdraws >= MAX_WITHDRAW_ATTEMPTS) {
+            script.log(getClass(), reason + " " + failedWithdraws + " times in a row - treating as out of stock");
+            failedWithdraws = 0;
+            return Result.OUT_OF_STOCK;
+        }
+        script.log(getClass(), reason);
+        return Result.RETRY;
+    }
+
+    private void endTrip() {
+        if (tripStartedAt == 0) return;
+        lastTripMs = System.currentTimeMillis() - tripStartedAt;
+        totalTripMs += lastTripMs;
+        trips++;
+        tripStartedAt = 0;
+        script.log(getClass(), String.format("bank trip %.1fs (avg %.1fs over %d trips)",
+                lastTripMs / 1000.0, getAverageTripMs() / 1000.0, trips));
+    }
+
+    // fill item stock in the bank, -1 if the bank couldn't be read
+    private int readBankCount() {
+        if (stockIndex != null && stockIndex.contains(fillId)) {
+            boolean fresh = false;
+            if (!stockIndex.isCaptured()) {
+                if (!captureIndex()) return -1;
+                fresh = true;
+            }
+            // confirm an empty count with a real read before anyone stops on it
+            if (stockIndex.getCount(fillId) == 0 && !fresh && !captureIndex()) return -1;
+            return stockIndex.getCount(fillId);
+        }
+
+        ItemGroupResult bank = script.getWidgetManager().getBank().search(Set.of(fillId));
+        if (bank == null) return -1;
+        return bank.contains(fillId) ? bank.getAmount(fillId) : 0;
+    }
+
+    private boolean captureIndex() {
+        ItemGroupResult bank = script.getWidgetManager().getBank().search(stockIndex.getIdSet());
+        if (bank == null) return false;
+        stockIndex.capture(bank);
+        return true;
+    }
+
+    // kept items are tools (chisel) - one slot each
+    private int countKeepSlots(ItemGroupResult inv) {
+        int slots = 0;
+        for (int id : keepIds) {
+            slots += inv.getAmount(id);
+        }
+        return slots;
+    }
+
+    private int freeSlots() {
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Collections.emptySet());
+        return inv == null ? -1 : inv.getFreeSlots();
+    }
+}
@@ -0,0 +1,68 @@
+package utils;
+
+import com.osmb.api.script.Script;
+import com.osmb.api.ui.chatbox.dialogue.DialogueType;
+import com.osmb.api.utils.RandomUtils;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * keeps a make-x batch going through level ups
+ * a level up dialogue stops the batch - recover() dismisses it and runs the script's own make-x start
+ * straight away instead of dropping back to idle first, and times each recovery from the frame the
+ * dialogue was seen to the make-x being selected
+ */
+public class CraftingSession {
+
+    private final Script script;
+
+    private int recoveries = 0;
+    private int failures = 0;
+    private long totalRecoveryMs = 0;
+
+    public CraftingSession(Script script) {
+        this.script = script;
+    }
+
+    /**
+     * one dialogue read - true if a level up is showing this frame
+     */
+    public boolean isLevelUp() {
+        return script.getWidgetManager().getDialogue().getDialogueType() == DialogueType.TAP_HERE_TO_CONTINUE;
+    }
+
+    /**
+     * dismiss the level up and restart make-x through the script's own start sequence
+     * @param restartMakeX the script's use-item + select sequence, true once make-x is running again
+     * @return true if the batch is running again, false if the caller should restart from idle
+     */
+    public boolean recover(BooleanSupplier restartMakeX) {
+        long start = System.currentTimeMillis();
+
+        script.getWidgetManager().getDialogue().continueChatDialogue();
+        boolean dismissed = script.pollFramesUntil(() -> !isLevelUp(), RandomUtils.weightedRandom(600, 1200, 0.003));
+        if (!dismissed) {
+            return fail("dialogue didn't close");
+        }
+        if (!restartMakeX.getAsBoolean()) {
+            return fail("make-x didn't restart");
+        }
+
+        long ms = System.currentTimeMillis() - start;
+        recoveries++;
+        totalRecoveryMs += ms;
+        script.log(getClass(), String.format("level up recovered in %.1fs (avg %.1fs over %d)",
+                ms / 1000.0, getAverageRecoveryMs() / 1000.0, recoveries));
+        return true;
+    }
+
+    private long getAverageRecoveryMs() {
+        return recoveries == 0 ? 0 : totalRecoveryMs / recoveries;
+    }
+
+    private boolean fail(String reason) {
+        failures++;
+        script.log(getClass(), "level up recovery failed: " + reason + " (" + failures + " failed, " + recoveries + " recovered)");
+        return false;
+    }
+}
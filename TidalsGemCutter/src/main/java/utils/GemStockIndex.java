@@ -0,0 +1,101 @@
+package utils;
+
+import com.osmb.api.item.ItemGroupResult;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * bank stock of every gem the cutter can work with (uncut, cut and bolt tips)
+ * captured with one bank read when the bank first opens, then kept current from our own withdrawals
+ * so gem switches never need another bank search
+ */
+public class GemStockIndex {
+
+    private final int[] ids;
+    private final int[] counts;
+    private final Set<Integer> idSet;
+    private boolean captured = false;
+
+    public GemStockIndex(Collection<Integer> gemIds) {
+        Set<Integer> set = new LinkedHashSet<>(gemIds);
+        this.idSet = Collections.unmodifiableSet(set);
+        this.ids = new int[set.size()];
+        this.counts = new int[set.size()];
+        int i = 0;
+        for (int id : set) {
+            ids[i++] = id;
+        }
+    }
+
+    /**
+     * every indexed id, reusable as the bank search set
+     */
+    public Set<Integer> getIdSet() {
+        return idSet;
+    }
+
+    public boolean contains(int itemId) {
+        return indexOf(itemId) >= 0;
+    }
+
+    public boolean isCaptured() {
+        return captured;
+    }
+
+    /**
+     * take counts from a bank search over getIdSet()
+     */
+    public void capture(ItemGroupResult bank) {
+        for (int i = 0; i < ids.length; i++) {
+            counts[i] = bank.contains(ids[i]) ? bank.getAmount(ids[i]) : 0;
+        }
+        captured = true;
+    }
+
+    /**
+     * counts can't be trusted any more (a withdrawal didn't confirm) - recapture on the next bank read
+     */
+    public void invalidate() {
+        captured = false;
+    }
+
+    public int getCount(int itemId) {
+        int i = indexOf(itemId);
+        return i < 0 ? 0 : counts[i];
+    }
+
+    public void onWithdrawn(int itemId, int amount) {
+        int i = indexOf(itemId);
+        if (i < 0 || amount <= 0) return;
+        counts[i] = Math.max(0, counts[i] - amount);
+    }
+
+    /**
+     * first id in priority order with stock left, skipping one id, or -1
+     */
+    public int nextInStock(List<Integer> priority, int skipId) {
+        for (int id : priority) {
+            if (id != skipId && getCount(id) > 0) return id;
+        }
+        return -1;
+    }
+
+    public int total(List<Integer> itemIds) {
+        int total = 0;
+        for (int id : itemIds) {
+            total += getCount(id);
+        }
+        return total;
+    }
+
+    private int indexOf(int itemId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == itemId) return i;
+        }
+        return -1;
+    }
+}
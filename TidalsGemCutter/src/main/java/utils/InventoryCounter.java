@@ -0,0 +1,91 @@
+package utils;
+
+import com.osmb.api.item.ItemGroupResult;
+import com.osmb.api.script.Script;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * counts every id a crafting batch cares about with one inventory recognition
+ * the id set is built once per batch and counts are primitives, so a poll costs one search and no allocation
+ * also times each search so a batch can report what its inventory reads cost
+ */
+public class InventoryCounter {
+
+    private final Script script;
+
+    private int[] ids = new int[0];
+    private int[] counts = new int[0];
+    private Set<Integer> idSet = Collections.emptySet();
+    private boolean visible = false;
+
+    // read cost since the last track()
+    private int reads = 0;
+    private long readNanos = 0;
+
+    public InventoryCounter(Script script) {
+        this.script = script;
+    }
+
+    /**
+     * set the ids for a new batch - resets counts and read stats
+     */
+    public void track(int... itemIds) {
+        Set<Integer> set = new LinkedHashSet<>();
+        for (int id : itemIds) {
+            set.add(id);
+        }
+        idSet = Collections.unmodifiableSet(set);
+        ids = new int[set.size()];
+        counts = new int[set.size()];
+        int i = 0;
+        for (int id : set) {
+            ids[i++] = id;
+        }
+        visible = false;
+        reads = 0;
+        readNanos = 0;
+    }
+
+    /**
+     * one recognition pass for all tracked ids
+     * @return false if the inventory couldn't be read (counts keep their last values)
+     */
+    public boolean read() {
+        long start = System.nanoTime();
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(idSet);
+        readNanos += System.nanoTime() - start;
+        reads++;
+
+        visible = inv != null;
+        if (!visible) return false;
+        for (int i = 0; i < ids.length; i++) {
+            counts[i] = inv.contains(ids[i]) ? inv.getAmount(ids[i]) : 0;
+        }
+        return true;
+    }
+
+    /**
+     * count from the last read, 0 for untracked ids
+     */
+    public int count(int itemId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == itemId) return counts[i];
+        }
+        return 0;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public int getReads() {
+        return reads;
+    }
+
+    public double getAverageReadMs() {
+        return reads == 0 ? 0 : readNanos / 1e6 / reads;
+    }
+}
@@ -0,0 +1,105 @@
+package utils;
+
+import com.osmb.api.script.Script;
+
+/**
+ * stage timing for one inventory load in bolt tip mode: bank -> cut -> tips
+ * every load withdraws uncut gems and banks finished tips, so throughput is tips per load over the load's wall time
+ * anything not inside a stage (walking, task hand-offs, level ups) shows up as the load's idle time
+ */
+public class LoadPipeline {
+
+    public enum Stage { BANK, CUT, TIPS }
+
+    private static final double ALPHA = 0.3;
+
+    private final Script script;
+
+    private final long[] stageStartedAt = new long[Stage.values().length];
+    private final long[] loadStageMs = new long[Stage.values().length];
+
+    private long loadStartedAt = 0;
+    private int loadTips = 0;
+    private double avgLoadMs = Double.NaN;
+    private double avgTipsPerLoad = Double.NaN;
+    private int loads = 0;
+
+    public LoadPipeline(Script script) {
+        this.script = script;
+    }
+
+    /**
+     * a stage began - a bank stage closes the previous load and opens the next one
+     */
+    public void startStage(Stage stage) {
+        long now = System.currentTimeMillis();
+        if (stageStartedAt[stage.ordinal()] != 0) return; // already running
+
+        if (stage == Stage.BANK) {
+            completeLoad(now);
+            loadStartedAt = now;
+        }
+        stageStartedAt[stage.ordinal()] = now;
+    }
+
+    public void endStage(Stage stage) {
+        int i = stage.ordinal();
+        if (stageStartedAt[i] == 0) return;
+        loadStageMs[i] += System.currentTimeMillis() - stageStartedAt[i];
+        stageStartedAt[i] = 0;
+    }
+
+    public void onTipsMade(int tips) {
+        if (tips > 0) loadTips += tips;
+    }
+
+    /**
+     * estimated tips/hr from the measured load cycle, 0 until a full load is measured
+     */
+    public int getTipsPerHour() {
+        if (Double.isNaN(avgLoadMs) || avgLoadMs <= 0) return 0;
+        return (int) Math.round(avgTipsPerLoad / avgLoadMs * 3_600_000.0);
+    }
+
+    public int getLoads() {
+        return loads;
+    }
+
+    // a full load is bank -> cut -> tips; partial loads (script start, restock failures) aren't measured
+    private void completeLoad(long now) {
+        if (loadStartedAt == 0 || loadTips == 0 || loadStageMs[Stage.TIPS.ordinal()] == 0) {
+            resetLoad();
+            return;
+        }
+
+        long loadMs = now - loadStartedAt;
+        long staged = 0;
+        for (long ms : loadStageMs) {
+            staged += ms;
+        }
+        avgLoadMs = smooth(avgLoadMs, loadMs);
+        avgTipsPerLoad = smooth(avgTipsPerLoad, loadTips);
+        loads++;
+
+        script.log(getClass(), String.format("load %d: bank %.1fs, cut %.1fs, tips %.1fs, idle %.1fs -> %d tips in %.1fs (~%d tips/hr)",
+                loads,
+                loadStageMs[Stage.BANK.ordinal()] / 1000.0,
+                loadStageMs[Stage.CUT.ordinal()] / 1000.0,
+                loadStageMs[Stage.TIPS.ordinal()] / 1000.0,
+                Math.max(0, loadMs - staged) / 1000.0,
+                loadTips, loadMs / 1000.0, getTipsPerHour()));
+        resetLoad();
+    }
+
+    private void resetLoad() {
+        for (int i = 0; i < loadStageMs.length; i++) {
+            loadStageMs[i] = 0;
+            stageStartedAt[i] = 0;
+        }
+        loadTips = 0;
+    }
+
+    private static double smooth(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + ALPHA * (sample - current);
+    }
+}
@@ -0,0 +1,59 @@
+package utils;
+
+/**
+ * predicts when a make-x batch runs out from the measured per-item interval
+ * samples come from the consumed item count going down, so it works the same for gems (1 -> 1) and bolt tips (1 -> 12)
+ */
+public class MakeXPredictor {
+
+    // ~2 ticks per item until measured
+    private static final double PRIOR_INTERVAL_MS = 1200;
+    // longer gaps mean the batch stalled (level up, lag) - not a steady interval
+    private static final long MAX_INTERVAL_MS = 6000;
+    private static final double ALPHA = 0.3;
+
+    private double intervalMs = Double.NaN;
+    private int lastRemaining = -1;
+    private long lastChangeAt = 0;
+
+    /**
+     * a batch started with this many items to process
+     */
+    public void start(int remaining, long now) {
+        lastRemaining = remaining;
+        lastChangeAt = now;
+    }
+
+    /**
+     * consumed items left after this poll's inventory read
+     */
+    public void onRemaining(int remaining, long now) {
+        if (lastRemaining < 0) {
+            start(remaining, now);
+            return;
+        }
+        if (remaining >= lastRemaining) return;
+
+        int done = lastRemaining - remaining;
+        long elapsed = now - lastChangeAt;
+        if (elapsed > 0 && elapsed <= MAX_INTERVAL_MS * done) {
+            double sample = elapsed / (double) done;
+            intervalMs = Double.isNaN(intervalMs) ? sample : intervalMs + ALPHA * (sample - intervalMs);
+        }
+        lastRemaining = remaining;
+        lastChangeAt = now;
+    }
+
+    /**
+     * predicted ms until the last item finishes
+     */
+    public long predictMsLeft(long now) {
+        if (lastRemaining <= 0) return 0;
+        double interval = Double.isNaN(intervalMs) ? PRIOR_INTERVAL_MS : intervalMs;
+        return Math.max(0, Math.round(lastChangeAt + lastRemaining * interval - now));
+    }
+
+    public double getIntervalMs() {
+        return Double.isNaN(intervalMs) ? PRIOR_INTERVAL_MS : intervalMs;
+    }
+}
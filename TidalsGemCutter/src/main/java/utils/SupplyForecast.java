@@ -0,0 +1,129 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * time-to-depletion for the supplies a session burns through
+ * counts are recorded once per completed bank visit, the consumption rate comes from the drop between
+ * two recordings, and the eta counts down from the last recording until the next bank visit
+ */
+public class SupplyForecast {
+
+    private static final double ALPHA = 0.3;
+    // longer gaps between bank visits include a break or relog - not a steady rate
+    private static final long MAX_SAMPLE_GAP_MS = 20 * 60_000L;
+
+    private static class Supply {
+        final double priorPerMs;
+        double ratePerMs = Double.NaN;
+        int count = -1;
+        long recordedAt = 0;
+
+        Supply(double priorPerHour) {
+            this.priorPerMs = priorPerHour / 3_600_000.0;
+        }
+
+        double rate() {
+            return Double.isNaN(ratePerMs) ? priorPerMs : ratePerMs;
+        }
+    }
+
+    private final Map<String, Supply> supplies = new LinkedHashMap<>();
+
+    /**
+     * forecast a supply, using the prior rate until one is measured
+     */
+    public void track(String name, double priorPerHour) {
+        supplies.put(name, new Supply(priorPerHour));
+    }
+
+    /**
+     * count seen on a completed bank visit - each call restarts the countdown
+     */
+    public void record(String name, int count) {
+        Supply s = supplies.get(name);
+        if (s == null || count < 0) return;
+        long now = System.currentTimeMillis();
+
+        // a rise means the bank was restocked - start a new baseline without a sample
+        if (s.count >= 0 && count < s.count) {
+            long elapsed = now - s.recordedAt;
+            if (elapsed > 0 && elapsed <= MAX_SAMPLE_GAP_MS) {
+                double sample = (s.count - count) / (double) elapsed;
+                s.ratePerMs = Double.isNaN(s.ratePerMs) ? sample : s.ratePerMs + ALPHA * (sample - s.ratePerMs);
+            }
+        }
+        s.count = count;
+        s.recordedAt = now;
+    }
+
+    public int getCount(String name) {
+        Supply s = supplies.get(name);
+        return s == null ? -1 : s.count;
+    }
+
+    /**
+     * ms until the supply runs out, -1 until it's been recorded
+     */
+    public long msUntilDepleted(String name) {
+        Supply s = supplies.get(name);
+        if (s == null || s.count < 0) return -1;
+        if (s.rate() <= 0) return Long.MAX_VALUE;
+        long sinceRecorded = System.currentTimeMillis() - s.recordedAt;
+        return Math.max(0, Math.round(s.count / s.rate()) - sinceRecorded);
+    }
+
+    /**
+     * supply that runs out first, null until one has been recorded
+     */
+    public String getLimiting() {
+        String limiting = null;
+        long best = Long.MAX_VALUE;
+        for (String name : supplies.keySet()) {
+            long ms = msUntilDepleted(name);
+            if (ms >= 0 && (limiting == null || ms < best)) {
+                limiting = name;
+                best = ms;
+            }
+        }
+        return limiting;
+    }
+
+    /**
+     * ms until the first supply runs out, -1 until one has been recorded
+     */
+    public long msUntilDepleted() {
+        String limiting = getLimiting();
+        return limiting == null ? -1 : msUntilDepleted(limiting);
+    }
+
+    /**
+     * whole minutes until the first supply runs out, -1 until recorded - for telemetry
+     */
+    public int minutesUntilDepleted() {
+        long ms = msUntilDepleted();
+        return ms < 0 ? -1 : (int) Math.min(Integer.MAX_VALUE, ms / 60_000);
+    }
+
+    /**
+     * one line for the log, e.g. "gems 540 (~22m)"
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (String name : supplies.keySet()) {
+            int count = getCount(name);
+            if (count < 0) continue;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(name).append(' ').append(count).append(" (~").append(formatEta(msUntilDepleted(name))).append(')');
+        }
+        return sb.length() > 0 ? sb.toString() : "no supplies recorded";
+    }
+
+    public static String formatEta(long ms) {
+        if (ms < 0) return "-";
+        if (ms == Long.MAX_VALUE) return "never";
+        long mins = ms / 60_000;
+        return mins >= 60 ? String.format("%dh %02dm", mins / 60, mins % 60) : mins + "m";
+    }
+}
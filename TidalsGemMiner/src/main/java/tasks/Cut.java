@@ -11,6 +11,7 @@ import com.osmb.api.ui.component.tabs.skill.SkillType;
 import com.osmb.api.utils.RandomUtils;
 import com.osmb.api.utils.timing.Timer;
 import com.osmb.api.walker.WalkConfig;
+import utils.CraftingSession;
 import utils.Task;
 import utilities.RetryUtils;
 
@@ -91,8 +92,12 @@ public class Cut extends Task {
     private int lastGemCount = 0;
     private Timer cuttingTimer;
 
+    // restarts the cut in place after a level up
+    private final CraftingSession session;
+
     public Cut(Script script) {
         super(script);
+        this.session = new CraftingSession(script);
     }
 
     @Override
@@ -182,11 +187,15 @@ public class Cut extends Task {
 
     private boolean handleUsingItems() {
         task = "Using chisel";
+        currentState = useChiselOnGem() ? CutState.WAIT_DIALOGUE : CutState.IDLE;
+        return false;
+    }
 
+    // chisel on the current gem in a random order - true once both items were used
+    private boolean useChiselOnGem() {
         ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(currentGemId, CHISEL_ID));
         if (inv == null) {
             script.log(getClass(), "[using_items] inventory null");
-            currentState = CutState.IDLE;
             return false;
         }
 
@@ -198,13 +207,11 @@ public class Cut extends Task {
         ItemSearchResult firstItem = inv.getRandomItem(firstID);
         if (firstItem == null) {
             script.log(getClass(), "[using_items] first item not found");
-            currentState = CutState.IDLE;
             return false;
         }
 
         if (!RetryUtils.inventoryInteract(script, firstItem, "Use", "use first item")) {
             script.log(getClass(), "[using_items] first item interaction failed");
-            currentState = CutState.IDLE;
             return false;
         }
 
@@ -213,18 +220,28 @@ public class Cut extends Task {
         ItemSearchResult secondItem = inv.getRandomItem(secondID);
         if (secondItem == null) {
             script.log(getClass(), "[using_items] second item not found");
-            currentState = CutState.IDLE;
             return false;
         }
 
         if (!RetryUtils.inventoryInteract(script, secondItem, "Use", "use second item")) {
             script.log(getClass(), "[using_items] second item interaction failed");
-            currentState = CutState.IDLE;
             return false;
         }
+        return true;
+    }
 
-        currentState = CutState.WAIT_DIALOGUE;
-        return false;
+    // level up restart - the idle -> using items -> dialogue -> select sequence in one go
+    private boolean restartCutting() {
+        if (!script.getWidgetManager().getInventory().unSelectItemIfSelected()) {
+            return false;
+        }
+        if (!useChiselOnGem()) {
+            return false;
+        }
+        boolean dialogueOpened = script.pollFramesUntil(() ->
+                script.getWidgetManager().getDialogue().getDialogueType() == DialogueType.ITEM_OPTION,
+                RandomUtils.weightedRandom(3000, 6000, 0.002));
+        return dialogueOpened && script.getWidgetManager().getDialogue().selectItem(currentGemId);
     }
 
     private boolean handleWaitDialogue() {
@@ -274,12 +291,14 @@ public class Cut extends Task {
     private boolean handleCutting() {
         task = "Cutting";
 
-        // handle level up dialogue
-        DialogueType type = script.getWidgetManager().getDialogue().getDialogueType();
-        if (type == DialogueType.TAP_HERE_TO_CONTINUE) {
+        // handle level up dialogue - dismiss and restart the cut straight away
+        if (session.isLevelUp()) {
             script.log(getClass(), "[cutting] level up detected");
-            script.getWidgetManager().getDialogue().continueChatDialogue();
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(1000, 3000, 0.002));
+            if (session.recover(this::restartCutting)) {
+                cuttingTimer = new Timer();
+            } else {
+                currentState = CutState.IDLE; // restart from idle (or move on to the next gem type)
+            }
             return false;
         }
 
@@ -309,8 +328,8 @@ public class Cut extends Task {
             return false;
         }
 
-        // still cutting - wait a bit then re-check
-        script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(600, 1200, 0.002));
+        // still cutting - wait a bit then re-check, cut short the frame a level up shows
+        script.pollFramesUntil(session::isLevelUp, RandomUtils.weightedRandom(600, 1200, 0.002));
         return false;
     }
 
@@ -12,6 +12,8 @@ import tasks.Bank;
 import tasks.Process;
 import tasks.Setup;
 import utilities.FreeTelemetrySupport;
+import utils.RestockEngine;
+import utils.SupplyForecast;
 import utils.Task;
 import utils.XPTracking;
 
@@ -65,6 +67,11 @@ public class TidalsGoldSuperheater extends Script {
     // smithing xp tracked manually since widget only shows magic
     public static boolean hasGoldsmithGauntlets = false;
     public static double manualSmithingXp = 0.0;
+
+    // gold ore / nature rune run-out eta, recorded on every bank visit
+    public static SupplyForecast supplyForecast;
+    // ~1,100 casts/hr including banking until a rate is measured
+    private static final double PRIOR_CASTS_PER_HOUR = 1100;
     public static final double SMITHING_XP_NO_GAUNTLETS = 22.5;
     public static final double SMITHING_XP_WITH_GAUNTLETS = 56.2;
 
@@ -204,6 +211,10 @@ public class TidalsGoldSuperheater extends Script {
             queueSendWebhook();
         }
 
+        supplyForecast = new SupplyForecast();
+        supplyForecast.track(RestockEngine.ORE, PRIOR_CASTS_PER_HOUR);
+        supplyForecast.track(RestockEngine.RUNES, PRIOR_CASTS_PER_HOUR);
+
         tasks = Arrays.asList(
                 new Setup(this),
                 new Process(this),
@@ -361,7 +372,8 @@ public class TidalsGoldSuperheater extends Script {
         ensureLogoLoaded();
         int logoHeight = (logoImage != null) ? logoImage.height + logoBottomGap : 0;
 
-        int totalLines = 12;
+        long supplyMsLeft = supplyForecast != null ? supplyForecast.msUntilDepleted() : -1;
+        int totalLines = 12 + (supplyMsLeft >= 0 ? 1 : 0);  // extra line once supplies are recorded
         int separatorCount = 3;
         int separatorOverhead = separatorCount * 12;  // separator padding (per separator)
         int bottomPadding = 1;                       // bottom padding
@@ -398,6 +410,12 @@ public class TidalsGoldSuperheater extends Script {
         String barsText = intFmt.format(barsCreated) + " (" + intFmt.format(barsPerHour) + "/hr)";
         drawStatLine(c, innerX, innerWidth, paddingX, curY, "Bars created", barsText, textMuted.getRGB(), accentGold.getRGB());
 
+        if (supplyMsLeft >= 0) {
+            curY += lineGap;
+            String supplyText = formatRuntime(supplyMsLeft) + " (" + supplyForecast.getLimiting() + ")";
+            drawStatLine(c, innerX, innerWidth, paddingX, curY, "Supply ETA", supplyText, textMuted.getRGB(), textLight.getRGB());
+        }
+
         // separator before magic section
         curY += lineGap - 4;  // pre-separator padding
         c.fillRect(innerX + paddingX, curY, innerWidth - (paddingX * 2), 1, borderColor.getRGB(), 1);
@@ -639,22 +657,28 @@ public class TidalsGoldSuperheater extends Script {
         }
 
         int totalXp = magicXp + smithingXp;
+        Map<String, Integer> stats = new HashMap<>(Map.of(
+                "gp", 0,
+                "xp", totalXp,
+                "barsCreated", bars,
+                "magicXp", magicXp,
+                "smithingXp", smithingXp
+        ));
+        // gauge, not an increment - only sent once the first bank visit has given a forecast
+        int supplyMinutesLeft = supplyForecast != null ? supplyForecast.minutesUntilDepleted() : -1;
+        if (supplyMinutesLeft >= 0) {
+            stats.put("supplyMinutesLeft", supplyMinutesLeft);
+        }
         boolean sent = FreeTelemetrySupport.sendHeartbeat(
                 obf.Secrets.DASHBOARD_BASE_URL,
                 scriptName,
                 sessionId,
                 runtimeSecs,
-                Map.of(
-                        "gp", 0,
-                        "xp", totalXp,
-                        "barsCreated", bars,
-                        "magicXp", magicXp,
-                        "smithingXp", smithingXp
-                ),
+                stats,
                 message -> log("STATS", message)
         );
         if (sent) {
-            log("STATS", "Telemetry reported: magic=" + magicXp + ", smith=" + smithingXp + ", bars=" + bars + ", runtime=" + runtimeSecs + "s");
+            log("STATS", "Telemetry reported: magic=" + magicXp + ", smith=" + smithingXp + ", bars=" + bars + ", runtime=" + runtimeSecs + "s, supply=" + supplyMinutesLeft + "m");
         }
     }
 
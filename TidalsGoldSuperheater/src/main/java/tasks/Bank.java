@@ -8,9 +8,9 @@ import com.osmb.api.script.Script;
 import com.osmb.api.utils.RandomUtils;
 import main.TidalsGoldSuperheater;
 import utilities.MovementChecker;
+import utils.RestockEngine;
 import utils.Task;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -18,8 +18,12 @@ import static main.TidalsGoldSuperheater.*;
 
 public class Bank extends Task {
 
+    // plans and verifies each bank visit, tracks ore/rune supply
+    private final RestockEngine restock;
+
     public Bank(Script script) {
         super(script);
+        this.restock = new RestockEngine(script, supplyForecast);
     }
 
     @Override
@@ -33,61 +37,29 @@ public class Bank extends Task {
     public boolean execute() {
         // state: bank not visible? open it
         if (!script.getWidgetManager().getBank().isVisible()) {
+            restock.beginTrip();
             openBank();
             return false;
         }
 
-        // state: have items to deposit? deposit them
-        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(ItemID.GOLD_BAR));
-        if (inv != null && inv.contains(ItemID.GOLD_BAR)) {
-            task = "Deposit";
-            script.log(getClass(), "[deposit] depositing bars");
-            script.getWidgetManager().getBank().depositAll(Set.of(ItemID.NATURE_RUNE));
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(150, 400, 0.003));
-            return false;
-        }
-
-        // state: need to check ore supply and withdraw
-        task = "Search bank";
-        ItemGroupResult bank = script.getWidgetManager().getBank().search(Set.of(ItemID.GOLD_ORE));
-        if (bank == null) {
-            script.log(getClass(), "[execute] bank not ready");
-            return false;
-        }
-
-        if (!bank.contains(ItemID.GOLD_ORE)) {
-            script.log(getClass(), "[execute] out of ore, stopping");
-            script.stop();
-            return false;
-        }
-
-        int oreCount = bank.getAmount(ItemID.GOLD_ORE);
-        script.log(getClass(), "[execute] " + oreCount + " ore in bank");
-
-        // state: need to withdraw ore
-        inv = script.getWidgetManager().getInventory().search(Collections.emptySet());
-        if (inv == null) {
-            script.log(getClass(), "[execute] inventory not visible");
-            return false;
-        }
-
-        int slots = inv.getFreeSlots();
-        if (slots > 0) {
-            task = "Withdraw";
-            script.log(getClass(), "[withdraw] withdrawing " + slots + " ore");
-            if (!script.getWidgetManager().getBank().withdraw(ItemID.GOLD_ORE, slots)) {
-                script.log(getClass(), "[withdraw] withdraw failed");
-                return false;
-            }
-            script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(150, 400, 0.003));
-            return false;
+        // state: bank open - deposit bars, withdraw ore and close in one pass
+        task = "Restock";
+        RestockEngine.Result result = restock.run();
+        switch (result) {
+            case OUT_OF_ORE:
+                script.log(getClass(), "[execute] out of ore (" + restock.getRunesHeld() + " nature runes left), stopping");
+                restock.abandonTrip();
+                script.stop();
+                break;
+            case OUT_OF_RUNES:
+                script.log(getClass(), "[execute] out of nature runes (" + restock.getOreInBank() + " ore left in bank), stopping");
+                restock.abandonTrip();
+                script.stop();
+                break;
+            default:
+                // DONE hands over to Process, RETRY re-plans next poll
+                break;
         }
-
-        // state: done banking, close and let Process task take over
-        task = "Close bank";
-        script.log(getClass(), "[close] inventory full, closing bank");
-        script.getWidgetManager().getBank().close();
-        script.pollFramesUntil(() -> !script.getWidgetManager().getBank().isVisible(), RandomUtils.weightedRandom(800, 1500, 0.003));
         return false;
     }
 
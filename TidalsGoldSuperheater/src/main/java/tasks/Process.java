@@ -2,16 +2,18 @@ package tasks;
 
 import com.osmb.api.item.ItemGroupResult;
 import com.osmb.api.item.ItemID;
-import com.osmb.api.item.ItemSearchResult;
 import com.osmb.api.shape.Rectangle;
 import com.osmb.api.ui.chatbox.dialogue.DialogueType;
 import com.osmb.api.ui.spellbook.SpellNotFoundException;
 import com.osmb.api.ui.spellbook.StandardSpellbook;
+import com.osmb.api.ui.tabs.Tab;
 import com.osmb.api.utils.RandomUtils;
 import com.osmb.api.script.Script;
 
 import main.TidalsGoldSuperheater;
+import utils.OreSlotMap;
 import utils.Task;
+import utils.XPTracking;
 
 import java.util.Set;
 
@@ -19,6 +21,14 @@ import static main.TidalsGoldSuperheater.*;
 
 public class Process extends Task {
 
+    // ore slot bounds for the current load
+    private final OreSlotMap oreSlots = new OreSlotMap();
+    // hand back to the executor after this many casts so higher priority tasks can step in
+    private static final int MAX_CASTS_PER_EXECUTE = 4;
+    // magic tab confirmed open for this load - checked on the first cast, cleared by a bank trip,
+    // level up or missed cast so the next cast confirms it again
+    private boolean spellbookConfirmed = false;
+
     public Process(Script script) {
         super(script);
     }
@@ -27,7 +37,12 @@ public class Process extends Task {
     public boolean activate() {
         ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(ItemID.GOLD_ORE));
         if (inv == null) return false;
-        return inv.contains(ItemID.GOLD_ORE);
+        if (!inv.contains(ItemID.GOLD_ORE)) {
+            oreSlots.invalidate(); // next load gets a fresh map
+            spellbookConfirmed = false; // banking swaps the side panel
+            return false;
+        }
+        return true;
     }
 
     @Override
@@ -35,6 +50,7 @@ public class Process extends Task {
         // state: bank open? close it first
         if (script.getWidgetManager().getBank().isVisible()) {
             script.log(getClass(), "[execute] closing bank");
+            spellbookConfirmed = false;
             script.getWidgetManager().getBank().close();
             script.pollFramesUntil(() -> !script.getWidgetManager().getBank().isVisible(), RandomUtils.weightedRandom(800, 1500, 0.003));
             return false;
@@ -44,6 +60,7 @@ public class Process extends Task {
         DialogueType dialogueType = script.getWidgetManager().getDialogue().getDialogueType();
         if (dialogueType == DialogueType.TAP_HERE_TO_CONTINUE) {
             script.log(getClass(), "[execute] handling level up");
+            spellbookConfirmed = false;
             script.getWidgetManager().getDialogue().continueChatDialogue();
             script.pollFramesUntil(() ->
                 script.getWidgetManager().getDialogue().getDialogueType() != DialogueType.TAP_HERE_TO_CONTINUE,
@@ -51,30 +68,76 @@ public class Process extends Task {
             return false;
         }
 
-        // state: ready to superheat - process ONE ore per poll
-        return superheatOneOre();
+        // state: ready to superheat - cast through the mapped ore slots
+        return castLoop();
     }
 
     /**
-     * Superheats exactly one gold ore, then returns to let framework re-evaluate.
-     * This allows higher priority tasks to interrupt between casts.
+     * Casts on the mapped ore back to back. Each cast is confirmed by the magic xp drop
+     * or the ore count going down, whichever shows first, and the next one starts straight away.
+     * Returns to the framework every few casts, on a level up or on an unconfirmed cast so other tasks can step in.
      */
-    private boolean superheatOneOre() {
+    private boolean castLoop() {
         task = "Superheating";
 
-        // find a gold ore to superheat
-        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(ItemID.GOLD_ORE));
-        if (inv == null || !inv.contains(ItemID.GOLD_ORE)) {
-            return false;
+        // map the ore slots once per load
+        if (oreSlots.isEmpty()) {
+            ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(ItemID.GOLD_ORE));
+            if (inv == null || !inv.contains(ItemID.GOLD_ORE)) {
+                return false;
+            }
+            if (oreSlots.rebuild(inv, ItemID.GOLD_ORE) == 0) {
+                script.log(getClass(), "[superheat] no ore slots mapped");
+                return false;
+            }
         }
 
-        // track ore count before casting for verification
-        int oreBefore = inv.getAmount(ItemID.GOLD_ORE);
+        int casts = 0;
+        while (!oreSlots.isEmpty()) {
+            if (casts >= MAX_CASTS_PER_EXECUTE) {
+                return true; // map is kept - the next execute carries on from here
+            }
 
-        ItemSearchResult oreItem = inv.getRandomItem(ItemID.GOLD_ORE);
-        if (oreItem == null) {
-            script.log(getClass(), "[superheat] no ore found");
-            return false;
+            // level up dialogue - let execute() handle it
+            if (script.getWidgetManager().getDialogue().getDialogueType() == DialogueType.TAP_HERE_TO_CONTINUE) {
+                return false;
+            }
+
+            if (!castOn(oreSlots.peek())) {
+                // slot map may be stale (misclick, moved item) - rebuild next poll
+                oreSlots.invalidate();
+                spellbookConfirmed = false;
+                return false;
+            }
+            oreSlots.consume();
+            casts++;
+
+            // small gap between casts, occasionally a human-style pause
+            int delay = RandomUtils.weightedRandom(60, 250, 0.003);
+            if (RandomUtils.uniformRandom(7) == 0) {
+                script.pollFramesHuman(() -> true, delay);
+            } else {
+                script.pollFramesUntil(() -> false, delay);
+            }
+        }
+
+        // out of ore - Bank activates next
+        return false;
+    }
+
+    /**
+     * Select superheat, tap the ore and wait for the cast to land.
+     */
+    private boolean castOn(Rectangle oreBounds) {
+        if (oreBounds == null) return false;
+
+        // once per load - later casts trust the tab while they keep landing
+        if (!spellbookConfirmed) {
+            if (!script.getWidgetManager().getTabManager().openTab(Tab.Type.SPELLBOOK)) {
+                script.log(getClass(), "[superheat] magic tab didn't open");
+                return false;
+            }
+            spellbookConfirmed = true;
         }
 
         // select superheat spell
@@ -94,50 +157,42 @@ public class Process extends Task {
             return false;
         }
 
-        // tap the ore
-        Rectangle bounds = oreItem.getBounds();
-        if (bounds == null) {
-            script.log(getClass(), "[superheat] ore bounds null");
-            return false;
-        }
+        XPTracking xpTracking = ((TidalsGoldSuperheater) script).getXpTracking();
+        double xpBefore = xpTracking != null ? xpTracking.getMagicXpGained() : 0;
+        int oreBefore = oreSlots.remaining();
 
-        script.getFinger().tap(bounds);
+        script.getFinger().tap(oreBounds);
 
-        // wait briefly for the cast to register, then verify ore count decreased
-        script.pollFramesUntil(() -> false, RandomUtils.weightedRandom(400, 600, 0.003));
+        // confirmed as soon as either signal shows - the xp drop, or the ore count going down
+        // (covers a tracker that's null or lagging without waiting out the timeout)
+        boolean confirmed = script.pollFramesUntil(() -> {
+            if (xpTracking != null && xpTracking.getMagicXpGained() > xpBefore) return true;
+            int ore = countOre();
+            return ore >= 0 && ore < oreBefore;
+        }, RandomUtils.weightedRandom(1500, 2200, 0.003));
 
-        // verify the cast worked by checking ore count
-        ItemGroupResult postCast = script.getWidgetManager().getInventory().search(Set.of(ItemID.GOLD_ORE));
-        int oreAfter = (postCast != null && postCast.contains(ItemID.GOLD_ORE)) ? postCast.getAmount(ItemID.GOLD_ORE) : 0;
-
-        // only count as success if ore was actually consumed
-        if (oreAfter < oreBefore) {
-            barsCreated++;
-            double smithXp = hasGoldsmithGauntlets ? SMITHING_XP_WITH_GAUNTLETS : SMITHING_XP_NO_GAUNTLETS;
-            manualSmithingXp += smithXp;
-
-            // update custom smithing tracker for ttl calculation
-            if (script instanceof TidalsGoldSuperheater) {
-                ((TidalsGoldSuperheater) script).getXpTracking().addSmithingXp(smithXp);
-            }
-
-            script.log(getClass(), "[superheat] cast #" + barsCreated + " (" + oreAfter + " ore left)");
-        } else {
+        if (!confirmed) {
             script.log(getClass(), "[superheat] cast may have failed - retrying");
+            return false;
         }
 
-        // short delay before next cast - superheat animation is ~600ms
-        int delay = RandomUtils.weightedRandom(200, 500, 0.003);
+        barsCreated++;
+        double smithXp = hasGoldsmithGauntlets ? SMITHING_XP_WITH_GAUNTLETS : SMITHING_XP_NO_GAUNTLETS;
+        manualSmithingXp += smithXp;
 
-        // ~15% chance to add human delay variant for natural variation
-        if (RandomUtils.uniformRandom(7) == 0) {
-            script.pollFramesHuman(() -> true, delay);
-        } else {
-            script.pollFramesUntil(() -> false, delay);
+        // update custom smithing tracker for ttl calculation
+        if (xpTracking != null) {
+            xpTracking.addSmithingXp(smithXp);
         }
 
-        // return false to continue - framework will call activate() again
-        // if we still have ore, we'll superheat another; otherwise Bank activates
-        return false;
+        script.log(getClass(), "[superheat] cast #" + barsCreated + " (" + (oreSlots.remaining() - 1) + " ore left)");
+        return true;
+    }
+
+    // gold ore in the inventory, -1 if it couldn't be read
+    private int countOre() {
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(Set.of(ItemID.GOLD_ORE));
+        if (inv == null) return -1;
+        return inv.contains(ItemID.GOLD_ORE) ? inv.getAmount(ItemID.GOLD_ORE) : 0;
     }
 }
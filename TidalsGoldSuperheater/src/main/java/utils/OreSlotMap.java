@@ -0,0 +1,69 @@
+package utils;
+
+import com.osmb.api.item.ItemGroupResult;
+import com.osmb.api.item.ItemSearchResult;
+import com.osmb.api.shape.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * tap bounds of every ore slot in the inventory, taken from one search after a restock
+ * casts walk the slots in a random order and drop each one as its cast is confirmed,
+ * so no cast needs its own inventory search to find an ore
+ * the bar lands in the slot its ore left, so the remaining slots stay valid whatever the order
+ */
+public class OreSlotMap {
+
+    private final List<Rectangle> slots = new ArrayList<>(28);
+    private int next = 0;
+
+    /**
+     * map every slot holding the item, shuffled so loads aren't tapped in the same sequence
+     * @return number of slots mapped
+     */
+    public int rebuild(ItemGroupResult inv, int itemId) {
+        slots.clear();
+        next = 0;
+        for (ItemSearchResult item : inv.getRecognisedItems()) {
+            if (item == null || item.getId() != itemId) continue;
+            Rectangle bounds = item.getBounds();
+            if (bounds != null) {
+                slots.add(bounds);
+            }
+        }
+        Collections.shuffle(slots);
+        return slots.size();
+    }
+
+    /**
+     * bounds of the next ore to cast on, null when the map is used up
+     */
+    public Rectangle peek() {
+        return next < slots.size() ? slots.get(next) : null;
+    }
+
+    /**
+     * the cast on peek() was confirmed
+     */
+    public void consume() {
+        if (next < slots.size()) next++;
+    }
+
+    public int remaining() {
+        return slots.size() - next;
+    }
+
+    public boolean isEmpty() {
+        return remaining() == 0;
+    }
+
+    /**
+     * slots can't be trusted (unconfirmed cast, bank trip) - rebuild from a fresh search
+     */
+    public void invalidate() {
+        slots.clear();
+        next = 0;
+    }
+}
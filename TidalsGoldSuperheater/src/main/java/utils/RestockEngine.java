@@ -0,0 +1,195 @@
+package utils;
+
+import com.osmb.api.item.ItemGroupResult;
+import com.osmb.api.item.ItemID;
+import com.osmb.api.script.Script;
+import com.osmb.api.utils.RandomUtils;
+
+import java.util.Set;
+
+/**
+ * one restock per bank visit - keep the nature runes, fill every other slot with gold ore
+ * plans deposit + withdraw from one inventory read and one bank read, runs them back to back
+ * confirming each by polling for its result, and feeds ore/rune supply to the forecast so the session
+ * stops on a clean bank visit instead of running dry mid-load
+ */
+public class RestockEngine {
+
+    public enum Result {
+        DONE,           // inventory holds runes + ore and the bank is closed
+        OUT_OF_ORE,     // bank has no gold ore left
+        OUT_OF_RUNES,   // no nature runes left to cast with
+        RETRY           // something didn't read or confirm - re-plan next poll
+    }
+
+    private static final int INVENTORY_SLOTS = 28;
+    private static final Set<Integer> KEEP_IDS = Set.of(ItemID.NATURE_RUNE);
+    private static final Set<Integer> INVENTORY_IDS = Set.of(ItemID.GOLD_ORE, ItemID.NATURE_RUNE, ItemID.GOLD_BAR);
+
+    public static final String ORE = "gold ore";
+    public static final String RUNES = "nature runes";
+
+    private final Script script;
+    private final SupplyForecast forecast;
+
+    // supply as of the last bank read
+    private int oreInBank = -1;
+    private int runesHeld = -1;
+    private int lastWithdrawn = 0;
+    // totals seen this visit, recorded into the forecast once the visit completes
+    private int oreSupply = -1;
+
+    // trip timing
+    private long tripStartedAt = 0;
+    private long totalTripMs = 0;
+    private int trips = 0;
+
+    public RestockEngine(Script script, SupplyForecast forecast) {
+        this.script = script;
+        this.forecast = forecast;
+    }
+
+    /**
+     * start the trip clock - safe to call every banking poll, only the first call counts
+     */
+    public void beginTrip() {
+        if (tripStartedAt == 0) {
+            tripStartedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * bring the inventory to runes + full ore - call while the bank is open
+     */
+    public Result run() {
+        beginTrip();
+
+        // plan: one inventory read, one bank read
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(INVENTORY_IDS);
+        if (inv == null) {
+            script.log(getClass(), "[restock] inventory not visible");
+            return Result.RETRY;
+        }
+        ItemGroupResult bank = script.getWidgetManager().getBank().search(Set.of(ItemID.GOLD_ORE));
+        if (bank == null) {
+            script.log(getClass(), "[restock] bank not ready");
+            return Result.RETRY;
+        }
+
+        runesHeld = inv.contains(ItemID.NATURE_RUNE) ? inv.getAmount(ItemID.NATURE_RUNE) : 0;
+        oreInBank = bank.contains(ItemID.GOLD_ORE) ? bank.getAmount(ItemID.GOLD_ORE) : 0;
+        int oreHeld = inv.contains(ItemID.GOLD_ORE) ? inv.getAmount(ItemID.GOLD_ORE) : 0;
+
+        int runeSlots = runesHeld > 0 ? 1 : 0;
+        int targetFree = INVENTORY_SLOTS - runeSlots;
+        // bars or anything else besides runes and ore has to go
+        boolean needsDeposit = inv.getFreeSlots() + oreHeld < targetFree;
+        if (needsDeposit) {
+            // deposit-all sends held ore back too
+            oreInBank += oreHeld;
+            oreHeld = 0;
+        }
+        int freeAfterDeposit = needsDeposit ? targetFree : inv.getFreeSlots();
+
+        // total supply as of this visit - ore in the bank and on hand, runes on hand
+        oreSupply = oreInBank + oreHeld;
+
+        // never hold more ore than there are runes to cast on it
+        int toWithdraw = Math.min(freeAfterDeposit, Math.min(oreInBank, runesHeld - oreHeld));
+
+        if (runesHeld == 0) {
+            return Result.OUT_OF_RUNES;
+        }
+        if (toWithdraw <= 0 && oreHeld == 0) {
+            return Result.OUT_OF_ORE;
+        }
+
+        // deposit everything but the runes
+        if (needsDeposit) {
+            if (!script.getWidgetManager().getBank().depositAll(KEEP_IDS)) {
+                script.log(getClass(), "[restock] deposit failed");
+                return Result.RETRY;
+            }
+            boolean deposited = script.pollFramesHuman(() -> freeSlots() == freeAfterDeposit,
+                    RandomUtils.weightedRandom(2000, 3000, 0.002));
+            if (!deposited) {
+                script.log(getClass(), "[restock] deposit not confirmed");
+                return Result.RETRY;
+            }
+        }
+
+        // withdraw exactly what the free slots and runes allow
+        lastWithdrawn = 0;
+        if (toWithdraw > 0) {
+            if (!script.getWidgetManager().getBank().withdraw(ItemID.GOLD_ORE, toWithdraw)) {
+                script.log(getClass(), "[restock] withdraw failed");
+                return Result.RETRY;
+            }
+            boolean withdrawn = script.pollFramesHuman(() -> {
+                        int free = freeSlots();
+                        return free >= 0 && free <= freeAfterDeposit - toWithdraw;
+                    },
+                    RandomUtils.weightedRandom(2000, 3000, 0.002));
+            if (!withdrawn) {
+                script.log(getClass(), "[restock] withdraw not confirmed");
+                return Result.RETRY;
+            }
+            lastWithdrawn = toWithdraw;
+            oreInBank -= toWithdraw;
+        }
+
+        // close and confirm
+        script.getWidgetManager().getBank().close();
+        boolean closed = script.pollFramesUntil(() -> !script.getWidgetManager().getBank().isVisible(),
+                RandomUtils.weightedRandom(2500, 4000, 0.002));
+        if (!closed) {
+            script.log(getClass(), "[restock] bank didn't close");
+            return Result.RETRY;
+        }
+
+        endTrip();
+        return Result.DONE;
+    }
+
+    /**
+     * forget an unfinished trip (e.g. the script is stopping out of supplies)
+     */
+    public void abandonTrip() {
+        tripStartedAt = 0;
+    }
+
+    public int getOreInBank() {
+        return oreInBank;
+    }
+
+    public int getRunesHeld() {
+        return runesHeld;
+    }
+
+    public int getLastWithdrawn() {
+        return lastWithdrawn;
+    }
+
+    public int getTrips() {
+        return trips;
+    }
+
+    private void endTrip() {
+        // once per completed visit - a record resets the countdown, so RETRY polls mustn't add any
+        forecast.record(ORE, oreSupply);
+        forecast.record(RUNES, runesHeld);
+
+        long tripMs = tripStartedAt != 0 ? System.currentTimeMillis() - tripStartedAt : 0;
+        totalTripMs += tripMs;
+        trips++;
+        tripStartedAt = 0;
+
+        script.log(getClass(), String.format("[restock] trip %.1fs (avg %.1fs), withdrew %d - %s",
+                tripMs / 1000.0, totalTripMs / 1000.0 / trips, lastWithdrawn, forecast.describe()));
+    }
+
+    private int freeSlots() {
+        ItemGroupResult inv = script.getWidgetManager().getInventory().search(INVENTORY_IDS);
+        return inv == null ? -1 : inv.getFreeSlots();
+    }
+}